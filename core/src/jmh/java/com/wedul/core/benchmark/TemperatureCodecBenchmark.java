@@ -0,0 +1,76 @@
+package com.wedul.core.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedul.core.codec.TemperatureBinaryCodec;
+import com.wedul.core.codec.TemperatureJsonWriter;
+import com.wedul.core.dto.Temperature;
+
+/**
+ * 이벤트 하나를 변환하는 데 걸리는 시간(ns)과 할당량(gc.alloc.rate.norm, byte/op) 비교.
+ * jackson 은 SseEmitter.send(temperature) 가 쓰던 기존 방식.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemperatureCodecBenchmark {
+
+	ObjectMapper objectMapper;
+	Temperature temperature;
+	StringBuilder jsonBuffer;
+	ByteBuffer binaryBuffer;
+
+	@Setup
+	public void setup() {
+		objectMapper = new ObjectMapper();
+		temperature = new Temperature(16 + Math.random() * 10, System.currentTimeMillis(), 1);
+		jsonBuffer = new StringBuilder(128);
+		binaryBuffer = ByteBuffer.allocateDirect(TemperatureBinaryCodec.SIZE);
+	}
+
+	@Benchmark
+	public String jackson() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(temperature);
+	}
+
+	@Benchmark
+	public byte[] jacksonBytes() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(temperature);
+	}
+
+	@Benchmark
+	public String jsonWriter() {
+		return TemperatureJsonWriter.toJson(temperature);
+	}
+
+	@Benchmark
+	public StringBuilder jsonWriterReusedBuffer() {
+		jsonBuffer.setLength(0);
+		return TemperatureJsonWriter.writeTo(temperature, jsonBuffer);
+	}
+
+	@Benchmark
+	public ByteBuffer binaryReusedBuffer() {
+		binaryBuffer.clear();
+		return TemperatureBinaryCodec.encode(temperature, binaryBuffer);
+	}
+
+	@Benchmark
+	public Temperature binaryRoundTrip() {
+		binaryBuffer.clear();
+		TemperatureBinaryCodec.encode(temperature, binaryBuffer);
+		binaryBuffer.flip();
+		return TemperatureBinaryCodec.decode(binaryBuffer);
+	}
+}
@@ -0,0 +1,32 @@
+package com.wedul.core.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * core 모듈을 의존하는 애플리케이션에 admission.paths 로 지정한 경로의 접속 제한 필터를 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "admission", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionAutoConfiguration {
+
+	@Bean
+	public AdmissionControl admissionControl(AdmissionProperties admissionProperties) {
+		return new AdmissionControl(admissionProperties);
+	}
+
+	@Bean
+	public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionControl admissionControl, AdmissionProperties admissionProperties) {
+		FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter(admissionControl));
+		registration.setUrlPatterns(admissionProperties.getPaths());
+		// 다른 필터가 일을 하기 전에 거절
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		registration.setEnabled(!admissionProperties.getPaths().isEmpty());
+		return registration;
+	}
+}
@@ -0,0 +1,92 @@
+package com.wedul.core.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스트림 접속을 받을지 결정한다.
+ *
+ * 1. 초당 새 접속 수 (token bucket)
+ * 2. 전체 동시 스트림 수
+ * 3. IP 별 동시 스트림 수
+ *
+ * tryAdmit 이 true 를 반환했다면 스트림이 끝날 때 반드시 release 를 호출해야 한다.
+ */
+public class AdmissionControl {
+
+	private final AdmissionProperties properties;
+	private final ConnectionRateLimiter rateLimiter;
+	private final AtomicInteger streams = new AtomicInteger();
+	private final Map<String, Integer> streamsPerIp = new ConcurrentHashMap<>();
+
+	public AdmissionControl(AdmissionProperties properties) {
+		this(properties, new ConnectionRateLimiter(properties.getConnectionRate(), properties.getConnectionBurst()));
+	}
+
+	AdmissionControl(AdmissionProperties properties, ConnectionRateLimiter rateLimiter) {
+		this.properties = properties;
+		this.rateLimiter = rateLimiter;
+	}
+
+	public boolean tryAdmit(String ip) {
+		// 동시 스트림 자리를 먼저 잡고 받아들일 접속에만 토큰을 사용한다.
+		// 상한에 걸린 클라이언트가 재접속을 반복해도 공용 토큰을 소진해서 다른 IP 를 막지 못한다.
+		if (!tryIncrement()) {
+			return false;
+		}
+		if (!tryIncrementIp(ip)) {
+			streams.decrementAndGet();
+			return false;
+		}
+		if (!rateLimiter.tryAcquire()) {
+			release(ip);
+			return false;
+		}
+		return true;
+	}
+
+	public void release(String ip) {
+		// 0 이 되면 map 에서 제거
+		streamsPerIp.computeIfPresent(ip, (key, count) -> count <= 1 ? null : count - 1);
+		streams.decrementAndGet();
+	}
+
+	/**
+	 * 거절된 클라이언트들이 동시에 다시 접속하지 않도록 jitter 를 더한 재시도 대기 시간(초)
+	 */
+	public long retryAfterSeconds() {
+		long jitter = properties.getRetryAfterJitter().getSeconds();
+		return properties.getRetryAfter().getSeconds() + (jitter <= 0 ? 0 : ThreadLocalRandom.current().nextLong(jitter + 1));
+	}
+
+	public int streams() {
+		return streams.get();
+	}
+
+	private boolean tryIncrement() {
+		for (;;) {
+			int current = streams.get();
+			if (current >= properties.getMaxStreams()) {
+				return false;
+			}
+			if (streams.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private boolean tryIncrementIp(String ip) {
+		boolean[] admitted = new boolean[1];
+		streamsPerIp.compute(ip, (key, count) -> {
+			int current = count == null ? 0 : count;
+			if (current >= properties.getMaxStreamsPerIp()) {
+				return count;
+			}
+			admitted[0] = true;
+			return current + 1;
+		});
+		return admitted[0];
+	}
+}
@@ -0,0 +1,94 @@
+package com.wedul.core.admission;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스트림 엔드포인트 요청을 컨트롤러(SseEmitter 생성)보다 먼저 검사해서 제한을 넘으면 503 + Retry-After 로 거절한다.
+ *
+ * SseEmitter 요청은 비동기로 시작된 뒤 컨트롤러가 반환되므로 AsyncListener 로 스트림이 끝나는 시점(완료, 타임아웃, 에러)에 반납한다.
+ * IP 는 request.getRemoteAddr() 이므로 프록시 뒤라면 server.forward-headers-strategy 를 설정해야 한다.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+	private final AdmissionControl admissionControl;
+
+	public AdmissionFilter(AdmissionControl admissionControl) {
+		this.admissionControl = admissionControl;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		String ip = request.getRemoteAddr();
+		if (!admissionControl.tryAdmit(ip)) {
+			long retryAfter = admissionControl.retryAfterSeconds();
+			log.debug("reject stream from {} (streams: {}, retry after {}s)", ip, admissionControl.streams(), retryAfter);
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+			// sendError 는 /error 로 다시 디스패치해서 본문을 만들므로 거절 비용을 줄이기 위해 상태만 설정한다.
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			return;
+		}
+
+		boolean asyncStarted = false;
+		try {
+			filterChain.doFilter(request, response);
+			asyncStarted = request.isAsyncStarted();
+		} finally {
+			if (asyncStarted) {
+				request.getAsyncContext().addListener(new ReleaseListener(ip));
+			} else {
+				admissionControl.release(ip);
+			}
+		}
+	}
+
+	private class ReleaseListener implements AsyncListener {
+		private final String ip;
+		private boolean released;
+
+		private ReleaseListener(String ip) {
+			this.ip = ip;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+		// 타임아웃/에러 뒤에 complete 가 한 번 더 올 수 있으므로 한 번만 반납
+		private synchronized void release() {
+			if (!released) {
+				released = true;
+				admissionControl.release(ip);
+			}
+		}
+	}
+}
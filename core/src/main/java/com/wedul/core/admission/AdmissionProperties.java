@@ -0,0 +1,35 @@
+package com.wedul.core.admission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 스트림(SSE) 엔드포인트 접속 제한 설정
+ *
+ * admission.paths=/temperature-stream
+ * admission.max-streams=1000
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+	private boolean enabled = true;
+	// 제한할 경로 (servlet url pattern)
+	private List<String> paths = new ArrayList<>();
+	// 동시에 열려있을 수 있는 전체 / IP 별 스트림 수
+	private int maxStreams = 1000;
+	private int maxStreamsPerIp = 10;
+	// 새 접속은 초당 connectionRate 개, 순간적으로 connectionBurst 개까지 허용
+	private double connectionRate = 50;
+	private int connectionBurst = 100;
+	// 거절할 때 Retry-After = retryAfter + (0 ~ retryAfterJitter)
+	private Duration retryAfter = Duration.ofSeconds(5);
+	private Duration retryAfterJitter = Duration.ofSeconds(10);
+}
@@ -0,0 +1,48 @@
+package com.wedul.core.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 새 접속 수를 제한하는 token bucket.
+ *
+ * 토큰 수 대신 "버킷이 다시 가득 차는 시각" 하나만 AtomicLong 에 두고 CAS 로 갱신한다. (GCRA)
+ * 초당 rate 개씩 채워지고 최대 burst 개까지 한 번에 허용하는 token bucket 과 같은 결과이며 락이 없다.
+ */
+class ConnectionRateLimiter {
+
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final LongSupplier clock;
+	// 이 시각 이후에는 버킷이 가득 차 있다.
+	private final AtomicLong fullAt;
+
+	ConnectionRateLimiter(double rate, int burst) {
+		this(rate, burst, System::nanoTime);
+	}
+
+	ConnectionRateLimiter(double rate, int burst, LongSupplier clock) {
+		if (rate <= 0 || burst <= 0) {
+			throw new IllegalArgumentException("rate and burst must be positive : rate=" + rate + ", burst=" + burst);
+		}
+		this.intervalNanos = (long)(1_000_000_000L / rate);
+		this.burstNanos = intervalNanos * burst;
+		this.clock = clock;
+		this.fullAt = new AtomicLong(clock.getAsLong());
+	}
+
+	boolean tryAcquire() {
+		for (;;) {
+			long now = clock.getAsLong();
+			long current = fullAt.get();
+			// 비어있는 토큰만큼 가득 찰 시각이 미뤄진다.
+			long next = Math.max(current, now) + intervalNanos;
+			if (next - now > burstNanos) {
+				return false;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+}
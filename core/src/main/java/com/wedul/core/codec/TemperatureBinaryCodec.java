@@ -0,0 +1,48 @@
+package com.wedul.core.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import com.wedul.core.dto.Temperature;
+
+/**
+ * Temperature 를 고정 길이(20 byte) 바이너리로 변환한다.
+ *
+ * | timestamp (long, 8) | sensorId (int, 4) | temperature (double, 8) |
+ *
+ * 호출하는 쪽이 넘긴 ByteBuffer 의 현재 위치에 쓰고 읽으므로 버퍼를 재사용하면 할당이 없다.
+ * 바이트 순서는 버퍼의 order 를 따른다. (기본 big-endian)
+ */
+public final class TemperatureBinaryCodec {
+
+	public static final int SIZE = Long.BYTES + Integer.BYTES + Double.BYTES;
+
+	private TemperatureBinaryCodec() {
+	}
+
+	/**
+	 * @throws BufferOverflowException 남은 공간이 SIZE 보다 작을 때
+	 */
+	public static ByteBuffer encode(Temperature temperature, ByteBuffer out) {
+		if (out.remaining() < SIZE) {
+			throw new BufferOverflowException();
+		}
+		return out.putLong(temperature.getTimestamp())
+			.putInt(temperature.getSensorId())
+			.putDouble(temperature.getTemperature());
+	}
+
+	/**
+	 * @throws BufferUnderflowException 남은 데이터가 SIZE 보다 작을 때
+	 */
+	public static Temperature decode(ByteBuffer in) {
+		if (in.remaining() < SIZE) {
+			throw new BufferUnderflowException();
+		}
+		long timestamp = in.getLong();
+		int sensorId = in.getInt();
+		double temperature = in.getDouble();
+		return new Temperature(temperature, timestamp, sensorId);
+	}
+}
@@ -0,0 +1,41 @@
+package com.wedul.core.codec;
+
+import com.wedul.core.dto.Temperature;
+
+/**
+ * 리플렉션 없이 Temperature 를 JSON 으로 쓴다. (Jackson 과 같은 필드 이름)
+ *
+ * {"temperature":16.5,"timestamp":1575734400000,"sensorId":1}
+ *
+ * 유한하지 않은 온도(NaN, Infinity)는 JSON 에서 표현할 수 없으므로 null 로 쓴다.
+ */
+public final class TemperatureJsonWriter {
+
+	// 숫자 필드 길이를 고려한 대략적인 최대 크기
+	static final int ESTIMATED_SIZE = 96;
+
+	private TemperatureJsonWriter() {
+	}
+
+	public static String toJson(Temperature temperature) {
+		return writeTo(temperature, new StringBuilder(ESTIMATED_SIZE)).toString();
+	}
+
+	/**
+	 * 재사용하는 StringBuilder 에 이어서 쓴다. (호출하는 쪽에서 setLength(0) 으로 비우고 사용)
+	 */
+	public static StringBuilder writeTo(Temperature temperature, StringBuilder out) {
+		out.append("{\"temperature\":");
+		double value = temperature.getTemperature();
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			out.append("null");
+		} else {
+			out.append(value);
+		}
+		return out.append(",\"timestamp\":")
+			.append(temperature.getTimestamp())
+			.append(",\"sensorId\":")
+			.append(temperature.getSensorId())
+			.append('}');
+	}
+}
@@ -0,0 +1,21 @@
+package com.wedul.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * temperature, rxjava-temperature 모듈이 같이 사용하는 온도 측정값
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class Temperature {
+
+	private final double temperature;
+	// 측정 시각 (epoch millis)
+	private final long timestamp;
+	private final int sensorId;
+}
@@ -0,0 +1,93 @@
+package com.wedul.core.admission;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTest {
+
+	@Test
+	@DisplayName("burst 만큼 허용하고 이후에는 rate 만큼 채워진다")
+	void connection_rate() {
+		AtomicLong now = new AtomicLong();
+		ConnectionRateLimiter limiter = new ConnectionRateLimiter(10, 3, now::get);
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isFalse();
+
+		// 초당 10개 -> 100ms 에 하나
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isFalse();
+	}
+
+	@Test
+	@DisplayName("전체, IP 별 동시 스트림 수 제한")
+	void concurrent_streams() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setMaxStreams(3);
+		properties.setMaxStreamsPerIp(2);
+		AdmissionControl admissionControl = new AdmissionControl(properties, new ConnectionRateLimiter(1000, 1000));
+
+		assertThat(admissionControl.tryAdmit("10.0.0.1")).isTrue();
+		assertThat(admissionControl.tryAdmit("10.0.0.1")).isTrue();
+		assertThat(admissionControl.tryAdmit("10.0.0.1")).isFalse();
+		assertThat(admissionControl.tryAdmit("10.0.0.2")).isTrue();
+		assertThat(admissionControl.tryAdmit("10.0.0.3")).isFalse();
+		assertThat(admissionControl.streams()).isEqualTo(3);
+
+		admissionControl.release("10.0.0.1");
+		assertThat(admissionControl.tryAdmit("10.0.0.3")).isTrue();
+	}
+
+	@Test
+	@DisplayName("IP 상한에 걸린 재접속은 접속 토큰을 사용하지 않는다")
+	void capped_ip_does_not_drain_tokens() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setMaxStreams(10);
+		properties.setMaxStreamsPerIp(1);
+		AtomicLong now = new AtomicLong();
+		AdmissionControl admissionControl = new AdmissionControl(properties, new ConnectionRateLimiter(1, 2, now::get));
+
+		assertThat(admissionControl.tryAdmit("10.0.0.1")).isTrue();
+		for (int i = 0; i < 100; i++) {
+			assertThat(admissionControl.tryAdmit("10.0.0.1")).isFalse();
+		}
+		assertThat(admissionControl.tryAdmit("10.0.0.2")).isTrue();
+		assertThat(admissionControl.streams()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("접속 토큰이 없으면 잡았던 자리를 반납한다")
+	void release_slots_without_token() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setMaxStreams(10);
+		properties.setMaxStreamsPerIp(10);
+		AtomicLong now = new AtomicLong();
+		AdmissionControl admissionControl = new AdmissionControl(properties, new ConnectionRateLimiter(1, 1, now::get));
+
+		assertThat(admissionControl.tryAdmit("10.0.0.1")).isTrue();
+		assertThat(admissionControl.tryAdmit("10.0.0.2")).isFalse();
+		assertThat(admissionControl.streams()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Retry-After 에 jitter 를 더한다")
+	void retry_after_jitter() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setRetryAfter(Duration.ofSeconds(5));
+		properties.setRetryAfterJitter(Duration.ofSeconds(10));
+		AdmissionControl admissionControl = new AdmissionControl(properties);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(admissionControl.retryAfterSeconds()).isBetween(5L, 15L);
+		}
+	}
+}
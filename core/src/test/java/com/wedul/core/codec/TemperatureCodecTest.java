@@ -0,0 +1,51 @@
+package com.wedul.core.codec;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedul.core.dto.Temperature;
+
+class TemperatureCodecTest {
+
+	final Temperature temperature = new Temperature(16.25, 1575734400000L, 7);
+
+	@Test
+	@DisplayName("Jackson 과 같은 JSON 을 만든다")
+	void json_same_as_jackson() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		String json = TemperatureJsonWriter.toJson(temperature);
+
+		assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(temperature)));
+		assertThat(json).isEqualTo("{\"temperature\":16.25,\"timestamp\":1575734400000,\"sensorId\":7}");
+	}
+
+	@Test
+	@DisplayName("유한하지 않은 온도는 null")
+	void json_non_finite() {
+		assertThat(TemperatureJsonWriter.toJson(new Temperature(Double.NaN, 1L, 1)))
+			.isEqualTo("{\"temperature\":null,\"timestamp\":1,\"sensorId\":1}");
+	}
+
+	@Test
+	@DisplayName("고정 길이 바이너리로 변환하고 되돌린다")
+	void binary_round_trip() {
+		ByteBuffer buffer = ByteBuffer.allocate(TemperatureBinaryCodec.SIZE * 2);
+
+		TemperatureBinaryCodec.encode(temperature, buffer);
+		TemperatureBinaryCodec.encode(temperature, buffer);
+		assertThat(buffer.position()).isEqualTo(40);
+		assertThatThrownBy(() -> TemperatureBinaryCodec.encode(temperature, buffer))
+			.isInstanceOf(BufferOverflowException.class);
+
+		buffer.flip();
+		assertThat(TemperatureBinaryCodec.decode(buffer)).isEqualTo(temperature);
+		assertThat(TemperatureBinaryCodec.decode(buffer)).isEqualTo(temperature);
+	}
+}
@@ -0,0 +1,45 @@
+package com.wedul.reactivetest.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 모든 onNext 값을 Blackhole에 넘기고, 비동기 파이프라인은 완료될 때까지 기다린다.
+ */
+final class BlackholeSubscriber<T> extends BaseSubscriber<T> {
+
+    private final Blackhole blackhole;
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    BlackholeSubscriber(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        requestUnbounded();
+    }
+
+    @Override
+    protected void hookOnNext(T value) {
+        blackhole.consume(value);
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        blackhole.consume(throwable);
+    }
+
+    @Override
+    protected void hookFinally(SignalType type) {
+        latch.countDown();
+    }
+
+    void await() throws InterruptedException {
+        latch.await();
+    }
+}
@@ -0,0 +1,96 @@
+package com.wedul.reactivetest.benchmark;
+
+import com.wedul.reactivetest.scheduler.SchedulerProperties;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10ms 블로킹 작업 tasks 개를 동시에 실행할 때 virtual thread 스케줄러와 elastic 스케줄러 비교.
+ * 한 번 실행(모든 작업 완료)에 걸리는 시간과 함께 최대 platform 쓰레드 수, 실행 후 사용중인 heap 을 보고한다.
+ * virtual 은 virtual thread 를 지원하는 JVM (21+) 에서만 실행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"10000"})
+    int tasks;
+
+    @Param({"virtual", "elastic"})
+    String scheduler;
+
+    SchedulerRegistry schedulerRegistry;
+    Scheduler blocking;
+
+    @Setup
+    public void setup() {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setVirtualThreads("virtual".equals(scheduler));
+        schedulerRegistry = new SchedulerRegistry(properties, new SimpleMeterRegistry());
+        blocking = schedulerRegistry.blocking("bench-blocking");
+        if ("virtual".equals(scheduler) && blocking == Schedulers.elastic()) {
+            throw new IllegalStateException("virtual threads are not supported on java " + System.getProperty("java.version"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        schedulerRegistry.destroy();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Resources {
+        private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        public long peakPlatformThreads;
+        public long usedHeapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            threadMXBean.resetPeakThreadCount();
+        }
+
+        void record() {
+            Runtime runtime = Runtime.getRuntime();
+            peakPlatformThreads = threadMXBean.getPeakThreadCount();
+            usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+
+    @Benchmark
+    public Long concurrentBlockingTasks(Resources resources) {
+        Long completed = Flux.range(0, tasks)
+            .flatMap(i -> Mono.fromCallable(() -> {
+                Thread.sleep(10);
+                return i;
+            }).subscribeOn(blocking), tasks)
+            .count()
+            .block();
+        resources.record();
+        return completed;
+    }
+}
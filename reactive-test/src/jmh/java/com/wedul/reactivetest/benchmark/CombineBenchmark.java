@@ -0,0 +1,84 @@
+package com.wedul.reactivetest.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * mergeWith, zipWith 그리고 ReactorStreamTest의 groupBy + count 패턴 비교.
+ * keys는 groupBy 로 나뉘는 그룹(과일 종류) 수.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CombineBenchmark {
+
+    /**
+     * mergeWith, zipWith 는 그룹이 없으므로 elements 만 바꿔가며 실행한다.
+     */
+    @State(Scope.Benchmark)
+    public static class Sources {
+
+        @Param({"1000", "100000"})
+        int elements;
+
+        Flux<Integer> left;
+        Flux<Integer> right;
+
+        @Setup
+        public void setup() {
+            left = Flux.range(0, elements);
+            right = Flux.range(elements, elements);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Groups {
+
+        @Param({"1000", "100000"})
+        int elements;
+
+        @Param({"4", "64"})
+        int keys;
+
+        Flux<Integer> source;
+
+        @Setup
+        public void setup() {
+            source = Flux.range(0, elements);
+        }
+    }
+
+    @Benchmark
+    public void mergeWith(Sources state, Blackhole blackhole) throws InterruptedException {
+        run(state.left.mergeWith(state.right), blackhole);
+    }
+
+    @Benchmark
+    public void zipWith(Sources state, Blackhole blackhole) throws InterruptedException {
+        run(state.left.zipWith(state.right, Integer::sum), blackhole);
+    }
+
+    @Benchmark
+    public void groupByCount(Groups state, Blackhole blackhole) throws InterruptedException {
+        // concatMap은 첫 그룹이 끝나기 전까지 나머지 그룹을 구독하지 않아 요소가 많으면 groupBy가 멈출 수 있다.
+        // 그래서 모든 그룹을 동시에 구독하도록 flatMap의 concurrency를 그룹 수로 지정한다.
+        int keys = state.keys;
+        run(state.source.groupBy(i -> i % keys)
+            .flatMap(group -> group.count(), keys), blackhole);
+    }
+
+    private static <T> void run(Flux<T> flux, Blackhole blackhole) throws InterruptedException {
+        BlackholeSubscriber<T> subscriber = new BlackholeSubscriber<>(blackhole);
+        flux.subscribe(subscriber);
+        subscriber.await();
+    }
+}
@@ -0,0 +1,81 @@
+package com.wedul.reactivetest.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReactiveTest.publishOn (prefetch 2) 처럼 비동기 경계를 둘 때 prefetch, 스케줄러에 따른 차이.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PublishOnBenchmark {
+
+    @Param({"1000", "100000"})
+    int elements;
+
+    @Param({"2", "32", "256"})
+    int prefetch;
+
+    @Param({"single", "parallel", "elastic"})
+    String scheduler;
+
+    Scheduler publishScheduler;
+    Flux<Integer> source;
+
+    @Setup
+    public void setup() {
+        switch (scheduler) {
+            case "single":
+                publishScheduler = Schedulers.newSingle("bench-single");
+                break;
+            case "parallel":
+                publishScheduler = Schedulers.newParallel("bench-parallel");
+                break;
+            case "elastic":
+                publishScheduler = Schedulers.newElastic("bench-elastic");
+                break;
+            default:
+                throw new IllegalArgumentException("unknown scheduler : " + scheduler);
+        }
+        source = Flux.range(0, elements);
+    }
+
+    @TearDown
+    public void tearDown() {
+        publishScheduler.dispose();
+    }
+
+    @Benchmark
+    public void publishOn(Blackhole blackhole) throws InterruptedException {
+        BlackholeSubscriber<Integer> subscriber = new BlackholeSubscriber<>(blackhole);
+        source.map(i -> i + 1)
+            .publishOn(publishScheduler, prefetch)
+            .map(i -> i * 2)
+            .subscribe(subscriber);
+        subscriber.await();
+    }
+
+    @Benchmark
+    public void subscribeOn(Blackhole blackhole) throws InterruptedException {
+        BlackholeSubscriber<Integer> subscriber = new BlackholeSubscriber<>(blackhole);
+        source.subscribeOn(publishScheduler)
+            .map(i -> i + 1)
+            .limitRate(prefetch)
+            .subscribe(subscriber);
+        subscriber.await();
+    }
+}
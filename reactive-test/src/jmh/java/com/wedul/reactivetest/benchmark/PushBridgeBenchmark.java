@@ -0,0 +1,81 @@
+package com.wedul.reactivetest.benchmark;
+
+import com.wedul.reactivetest.bridge.OverflowStrategy;
+import com.wedul.reactivetest.bridge.PushBridge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 벤치마크 쓰레드가 생산자로 elements 개를 push 하고 별도 쓰레드(publishOn)의 구독자가 소비할 때
+ * PushBridge(BLOCK) 와 Flux.create(BUFFER) 비교.
+ * Throughput은 초당 처리한 묶음 수, SampleTime은 묶음 하나를 모두 전달하는 데 걸린 시간 분포.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PushBridgeBenchmark {
+
+    @Param({"10000", "1000000"})
+    int elements;
+
+    @Param({"256", "4096"})
+    int capacity;
+
+    Scheduler consumer;
+
+    @Setup
+    public void setup() {
+        consumer = Schedulers.newSingle("bench-consumer");
+    }
+
+    @TearDown
+    public void tearDown() {
+        consumer.dispose();
+    }
+
+    @Benchmark
+    public void pushBridge(Blackhole blackhole) throws InterruptedException {
+        PushBridge<Integer> bridge = new PushBridge<>(capacity, OverflowStrategy.BLOCK);
+        BlackholeSubscriber<Integer> subscriber = new BlackholeSubscriber<>(blackhole);
+        bridge.flux()
+            .publishOn(consumer)
+            .subscribe(subscriber);
+
+        for (int i = 0; i < elements; i++) {
+            bridge.emit(i);
+        }
+        bridge.complete();
+        subscriber.await();
+    }
+
+    @Benchmark
+    public void fluxCreateBuffer(Blackhole blackhole) throws InterruptedException {
+        AtomicReference<FluxSink<Integer>> sinkRef = new AtomicReference<>();
+        BlackholeSubscriber<Integer> subscriber = new BlackholeSubscriber<>(blackhole);
+        Flux.<Integer>create(sinkRef::set, FluxSink.OverflowStrategy.BUFFER)
+            .publishOn(consumer)
+            .subscribe(subscriber);
+
+        FluxSink<Integer> sink = sinkRef.get();
+        for (int i = 0; i < elements; i++) {
+            sink.next(i);
+        }
+        sink.complete();
+        subscriber.await();
+    }
+}
@@ -0,0 +1,86 @@
+package com.wedul.reactivetest.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReactiveTest의 1대1(map), 1대n(flatMap / concatMap / flatMapSequential) 변환 비교.
+ * elements는 외부 시퀀스 크기, innerSize는 각 요소가 만드는 내부 Publisher 크기.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransformBenchmark {
+
+    /**
+     * map 은 내부 Publisher 가 없으므로 elements 만 바꿔가며 실행한다.
+     */
+    @State(Scope.Benchmark)
+    public static class Source {
+
+        @Param({"1000", "100000"})
+        int elements;
+
+        Flux<Integer> source;
+
+        @Setup
+        public void setup() {
+            source = Flux.range(0, elements);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InnerSource {
+
+        @Param({"1000", "100000"})
+        int elements;
+
+        @Param({"1", "16"})
+        int innerSize;
+
+        @Param({"32", "256"})
+        int prefetch;
+
+        Flux<Integer> source;
+
+        @Setup
+        public void setup() {
+            source = Flux.range(0, elements);
+        }
+    }
+
+    @Benchmark
+    public void map(Source state, Blackhole blackhole) throws InterruptedException {
+        run(state.source.map(i -> i + 1), blackhole);
+    }
+
+    @Benchmark
+    public void flatMap(InnerSource state, Blackhole blackhole) throws InterruptedException {
+        run(state.source.flatMap(i -> Flux.range(i, state.innerSize), 256, state.prefetch), blackhole);
+    }
+
+    @Benchmark
+    public void concatMap(InnerSource state, Blackhole blackhole) throws InterruptedException {
+        run(state.source.concatMap(i -> Flux.range(i, state.innerSize), state.prefetch), blackhole);
+    }
+
+    @Benchmark
+    public void flatMapSequential(InnerSource state, Blackhole blackhole) throws InterruptedException {
+        run(state.source.flatMapSequential(i -> Flux.range(i, state.innerSize), 256, state.prefetch), blackhole);
+    }
+
+    private static void run(Flux<Integer> flux, Blackhole blackhole) throws InterruptedException {
+        BlackholeSubscriber<Integer> subscriber = new BlackholeSubscriber<>(blackhole);
+        flux.subscribe(subscriber);
+        subscriber.await();
+    }
+}
@@ -1,95 +1,128 @@
 package com.wedul.reactivetest;
 
+import com.wedul.reactivetest.bridge.OverflowStrategy;
+import com.wedul.reactivetest.bridge.PushBridge;
+import com.wedul.reactivetest.operator.Backoff;
+import com.wedul.reactivetest.profiler.PipelineProfiler;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
-import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * 각 예제를 이름이 있는 시나리오로 등록해두고 ScenarioRunner를 통해 요청 시점에 실행한다.
+ * 시나리오는 구독 전까지 아무것도 하지 않는 cold Flux를 반환한다.
+ */
 @Slf4j
 @Service
-public class ReactiveTest implements InitializingBean {
+public class ReactiveTest {
+
+    private final Flux<String> data = Flux.just("a", "bc", "def", "wxyz");
+    private final Map<String, Supplier<Flux<?>>> scenarios = new LinkedHashMap<>();
+    private final SchedulerRegistry schedulerRegistry;
+    private final PipelineProfiler pipelineProfiler;
+
+    public ReactiveTest(SchedulerRegistry schedulerRegistry, PipelineProfiler pipelineProfiler) {
+        this.schedulerRegistry = schedulerRegistry;
+        this.pipelineProfiler = pipelineProfiler;
 
-    public void test() {
         // generate의 경우 subscribe가 있어야 발생하는 pull 방식
-        subscribe();
-        t1T2();
-        predicate();
-        threeItemGenerateSub();
-        generateTwoParameter();
+        scenarios.put("subscribe", this::subscribe);
+        scenarios.put("t1T2", this::t1T2);
+        scenarios.put("predicate", this::predicate);
+        scenarios.put("threeItemGenerateSub", this::threeItemGenerateSub);
+        scenarios.put("generateTwoParameter", this::generateTwoParameter);
 
         // create (generate와 다른점은 generate의 경우 데이터를 한번에 하나만 보낼 수 있으나 create는 여러개 전달 가능)
-//        createFlux();
+//        scenarios.put("createFlux", this::createFlux);
+        // 실제 생산자(쓰레드)가 push 하는 값을 요청한 만큼만 전달
+        scenarios.put("pushBridge", this::pushBridge);
 
         // 데이터 1대1 변환
-        Flux<String> data = Flux.just("a", "bc", "def", "wxyz");
-        fluxStrToInteger(data).subscribe(this::print);
+        scenarios.put("map", () -> fluxStrToInteger(data).doOnNext(this::print));
 
         // 데이터 1대 n 변환
-        fluxStrToFlatMap(data).subscribe(this::print);
+        scenarios.put("flatMap", () -> fluxStrToFlatMap(data).doOnNext(this::print));
 
         // filter 걸러내기
-        fluxFilterLengthgteThree(data).subscribe(this::print);
+        scenarios.put("filter", () -> fluxFilterLengthgteThree(data).doOnNext(this::print));
 
         // merge (stream 발생 순서대로 merge)
-        merge(data, Flux.range(1, 2)).subscribe(s -> log.info("merge data {}", s));
+        scenarios.put("merge", () -> merge(data, Flux.range(1, 2)).doOnNext(s -> log.info("merge data {}", s)));
 
         // zip with (merge는 실행 속도로 묶는다면 시퀀스 하나 하나 순서대로 같이 매핑한다.), 합쳐지지 못한 스트림은 사라짐
-        zipMapping(data, Flux.range(1, 2).map(d -> d.toString())).subscribe(s -> log.info("zip with data {}", s));
+        scenarios.put("zipWith", () -> zipMapping(data, Flux.range(1, 2).map(d -> d.toString())).doOnNext(s -> log.info("zip with data {}", s)));
 
         // skip
-        data.skipUntil(d -> d.length() >= 3).subscribe(s -> log.info("skip until {}", s));
+        scenarios.put("skipUntil", () -> data.skipUntil(d -> d.length() >= 3).doOnNext(s -> log.info("skip until {}", s)));
 
         // 에러 처리
-        makeError(data);
+        scenarios.put("makeError", () -> makeError(data));
 
         // 에러 발생 시 대체값 사용
-        whenErrorReplaceValue(data);
+        scenarios.put("whenErrorReplaceValue", () -> whenErrorReplaceValue(data));
 
         // 에러 발생 시 값 대처
-        replaceFlux(data);
+        scenarios.put("replaceFlux", () -> replaceFlux(data));
 
         // 에러 발생 시 다른 에러로 대처
-        replaceError(data);
+        scenarios.put("replaceError", () -> replaceError(data));
 
         // retry when
-        retryWhen(data);
+        scenarios.put("retryWhen", () -> retryWhen(data));
+        scenarios.put("retryWhenCompanionError", () -> retryWhenCompanionError(data));
+        scenarios.put("retryWhenBackoff", () -> retryWhenBackoff(data));
 
         // publishOn을 이용한 별도 쓰레드에서 비동기 작업 처리
-        publishOn(data);
+        scenarios.put("publishOn", () -> publishOn(data));
 
         // subscribe
-        subscribeOn(data);
+        scenarios.put("subscribeOn", () -> subscribeOn(data));
+
+        // 블로킹 작업을 virtual thread (지원하지 않으면 elastic) 에서 동시에 실행
+        scenarios.put("blocking", this::blocking);
+    }
+
+    /**
+     * 등록된 시나리오 (이름 -> 구독할 때마다 새로 실행되는 파이프라인)
+     */
+    public Map<String, Supplier<Flux<?>>> scenarios() {
+        return Collections.unmodifiableMap(scenarios);
     }
 
-    private void retryWhen(Flux<String> data) {
+    private Flux<String> retryWhen(Flux<String> data) {
         /*
              retry when는 Function<Flux<Throwable>, ? extends Publisher<?> whenFactory) 인자를 받는데
              Flux<Throwable>은 에러 exception에 해당된다.
 
              그래서 순서는 에러가 발생하면 Flux<Throwable>에 전달되고 Flux<Throwable>의 상태에 따라 에러를 전파하거나 재시도하거나 종료한다.
          */
-        getCotainErrorMap(data)
+        return getCotainErrorMap(data)
             .retryWhen(
                 // 2번에 에러 발생 또한 재시도를 할 경우에는 에러를 subscribe에게 리턴하지 않는다.
                 err -> err.take(2)
             )
-            .subscribe(System.out::print, e -> log.info("{}", e.getMessage()));
+            .doOnNext(System.out::print)
+            .doOnError(e -> log.info("{}", e.getMessage()));
+    }
 
+    private Flux<String> retryWhenCompanionError(Flux<String> data) {
         // 2번 시도 후 에러 발생
         // retryWhen은 Flux<Throwable>에 따라서 에러를 발생시키기도 하고 아니기도 하다.
-        getCotainErrorMap(data)
+        return getCotainErrorMap(data)
             .retryWhen(errorsFlux -> errorsFlux.zipWith(Flux.range(1, 3),
                 (error, index) -> {
                     if (index < 3) {
@@ -97,87 +130,68 @@ public class ReactiveTest implements InitializingBean {
                     }
                     throw new RuntimeException("companion error");
                 })
-            ).subscribe(System.out::print, e -> log.info("{}", e.getMessage()));
+            )
+            .doOnNext(System.out::print)
+            .doOnError(e -> log.info("{}", e.getMessage()));
+    }
+
+    private Flux<String> retryWhenBackoff(Flux<String> data) {
+        // 바로 재시도하지 않고 100ms, 200ms ... 에서 jitter 만큼 줄인 시간 뒤 재시도, 3번 이후에는 원래 에러 전달
+        return getCotainErrorMap(data)
+            .retryWhen(Backoff.builder()
+                .maxRetries(3)
+                .firstBackoff(Duration.ofMillis(100))
+                .build())
+            .doOnNext(System.out::print)
+            .doOnError(e -> log.info("{}", e.getMessage()));
     }
 
-    private void subscribeOn(Flux<String> data) {
-        CountDownLatch latch = new CountDownLatch(1);
-        data.log()
-            .subscribeOn(Schedulers.newElastic("elastic"))
+    private Flux<Integer> subscribeOn(Flux<String> data) {
+        // log() 대신 어느 쓰레드에서 신호가 오는지 /actuator/pipelines 에서 확인
+        return data.transform(pipelineProfiler.stage("subscribeOn.source"))
+            .subscribeOn(schedulerRegistry.get("subscribe"))
             .map(i -> {
                 log.info("map : {} + 1", i.length());
                 return i.length() + 1;
             })
-            .subscribe(new BaseSubscriber<Integer>() {
-
-                @Override
-                protected void hookOnSubscribe(Subscription subscription) {
-                    log.info("hookOnSubscribe"); // main thread
-                    request(1);
-                }
-
-                @Override
-                protected void hookOnNext(Integer value) {
-                    log.info("hookOnNext: " + value); // SUB 쓰레드
-                    request(1);
-                }
-
-                @Override
-                protected void hookOnComplete() {
-                    log.info("hookOnComplete"); // SUB 쓰레드
-                    latch.countDown();
-                }
-
-            });
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+            .transform(pipelineProfiler.stage("subscribeOn.map"))
+            .doOnSubscribe(subscription -> log.info("hookOnSubscribe")) // 구독한 쓰레드
+            .doOnNext(value -> log.info("hookOnNext: " + value)) // SUB 쓰레드
+            .doOnComplete(() -> log.info("hookOnComplete")) // SUB 쓰레드
+            // 하나씩 요청
+            .limitRate(1);
     }
 
-    private void publishOn(Flux<String> data) {
-        CountDownLatch latch = new CountDownLatch(1);
+    private Flux<Integer> blocking() {
+        return Flux.range(0, 100)
+            .flatMap(i -> Mono.fromCallable(() -> {
+                Thread.sleep(100);
+                return i;
+            }).subscribeOn(schedulerRegistry.blocking("blocking")), 100);
+    }
 
-        data.map(d -> d + "zz")
+    private Flux<Integer> publishOn(Flux<String> data) {
+        return data.map(d -> d + "zz")
             // 첫번째 인자는 비동기 신호 처리 스케줄러, 미리 가져올 버퍼 크기 (비동기 경계시점에 미리 가져올 데이터 개수)
-            .publishOn(Schedulers.newElastic("PUB"), 2)
+            .publishOn(schedulerRegistry.get("publish"), 2)
             .map(d -> d.length())
-            .subscribe(new BaseSubscriber<Integer>() {
-
-                @Override
-                protected void hookOnSubscribe(Subscription subscription) {
-                    log.info("hookOnSubscribe");
-                    requestUnbounded();
-                }
-
-                @Override
-                protected void hookOnNext(Integer value) {
-                    log.info("hookOnNext: " + value); // publishOn에서 지정한 스케줄러가 실행
-                }
-
-                @Override
-                protected void hookOnComplete() {
-                    log.info("hookOnComplete"); // publishOn에서 지정한 스케줄러가 실행
-                    latch.countDown();
-                }
-            });
-
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+            .doOnSubscribe(subscription -> log.info("hookOnSubscribe"))
+            .doOnNext(value -> log.info("hookOnNext: " + value)) // publishOn에서 지정한 스케줄러가 실행
+            .doOnComplete(() -> log.info("hookOnComplete")); // publishOn에서 지정한 스케줄러가 실행
     }
 
-    private void replaceError(Flux<String> data) {
-        getCotainErrorMap(data)
+    private Flux<String> replaceError(Flux<String> data) {
+        return getCotainErrorMap(data)
             .onErrorMap(e -> new CustomException("다른 에러다!"))
-            .subscribe(System.out::print, e -> log.info("{}", e.getMessage()));
+            .doOnNext(System.out::print)
+            .doOnError(e -> log.info("{}", e.getMessage()));
     }
 
-    private void makeError(Flux<String> data) {
-        getCotainErrorMap(data).subscribe(System.out::print, i -> log.error("에러발생!!", i.getMessage()), () -> log.info("complete"));
+    private Flux<String> makeError(Flux<String> data) {
+        return getCotainErrorMap(data)
+            .doOnNext(System.out::print)
+            .doOnError(i -> log.error("에러발생!! {}", i.getMessage()))
+            .doOnComplete(() -> log.info("complete"));
     }
 
     private Flux<String> getCotainErrorMap(Flux<String> data) {
@@ -189,21 +203,23 @@ public class ReactiveTest implements InitializingBean {
         });
     }
 
-    private void replaceFlux(Flux<String> data) {
-        getCotainErrorMap(data)
+    private Flux<String> replaceFlux(Flux<String> data) {
+        return getCotainErrorMap(data)
             .onErrorResume(error -> {
                 if (error instanceof RuntimeException) {
                     return Flux.just("11");
                 }
                 return Flux.just("zz");
             })
-            .subscribe(System.out::print, i -> log.error("에러발생!!", i.getMessage()), () -> log.info("complete"));
+            .doOnNext(System.out::print)
+            .doOnComplete(() -> log.info("complete"));
     }
 
-    private void whenErrorReplaceValue(Flux<String> data) {
-        getCotainErrorMap(data)
+    private Flux<String> whenErrorReplaceValue(Flux<String> data) {
+        return getCotainErrorMap(data)
             .onErrorReturn("-2")
-            .subscribe(System.out::print, i -> log.error("에러발생!!", i.getMessage()), () -> log.info("complete"));
+            .doOnNext(System.out::print)
+            .doOnComplete(() -> log.info("complete"));
     }
 
     private Flux<Tuple2<String, String>> zipMapping(Flux<String> data, Flux<String> data1) {
@@ -236,8 +252,8 @@ public class ReactiveTest implements InitializingBean {
         return data.map(t -> t.length());
     }
 
-    private void createFlux() {
-        Flux<Integer> flux = Flux.create((FluxSink<Integer> sink) -> {
+    private Flux<Integer> createFlux() {
+        return Flux.create((FluxSink<Integer> sink) -> {
             sink.onRequest(request -> {
                 // request는 요청 건수
                 for (int i = 0; i < request; i++) {
@@ -245,12 +261,27 @@ public class ReactiveTest implements InitializingBean {
                 }
             });
         });
+    }
 
-        flux.subscribe(System.out::print);
+    private Flux<Integer> pushBridge() {
+        return Flux.defer(() -> {
+            PushBridge<Integer> bridge = new PushBridge<>(4, OverflowStrategy.BLOCK);
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    log.info("producer emit {}", i);
+                    bridge.emit(i);
+                }
+                bridge.complete();
+            }, "producer");
+            return bridge.flux()
+                .doOnSubscribe(subscription -> producer.start())
+                .doOnNext(value -> log.info("pushBridge onNext {}", value))
+                .limitRate(2);
+        });
     }
 
     // generate 2 parameter
-    private void generateTwoParameter() {
+    private Flux<String> generateTwoParameter() {
         // 첫번째 인자는 최초 상태,
         Flux<String> flux = Flux.generate(
             () -> {
@@ -266,61 +297,41 @@ public class ReactiveTest implements InitializingBean {
                 }
                 return state + 1;
             });
-        flux.subscribe(System.out::print);
+        return flux.doOnNext(System.out::print);
     }
 
-    private void subscribe() {
-        Flux.range(0, 21)
+    private Flux<Integer> subscribe() {
+        return Flux.range(0, 21)
             .doOnNext(System.out::print)
-            .subscribe(new Subscriber<Integer>() {
-                private Subscription subscription;
-
-                @Override
-                public void onSubscribe(Subscription s) {
-                    this.subscription = s;
-                    log.info("Subscriber.onSubscribe");
-                    subscription.request(100);
-                }
-
-                @Override
-                public void onNext(Integer integer) {
-                    log.info("Subscriber.onNext: " + integer);
-                    subscription.request(1);
-                }
-
-                @Override
-                public void onError(Throwable t) {
-                    log.info("Subscriber.onError: " + t.getMessage());
-                }
-
-                @Override
-                public void onComplete() {
-                    log.info("Subscriber.onComplete");
-                }
-            });
+            .doOnSubscribe(subscription -> log.info("Subscriber.onSubscribe"))
+            .doOnNext(integer -> log.info("Subscriber.onNext: " + integer))
+            .doOnError(t -> log.info("Subscriber.onError: " + t.getMessage()))
+            .doOnComplete(() -> log.info("Subscriber.onComplete"));
     }
 
-    private void t1T2() {
+    private Flux<String> t1T2() {
         // t1은 첫번째 요소 t2는 두번째 요소
-        Flux.range(2018, 5)
+        return Flux.range(2018, 5)
             .timestamp()
             .index()
-            .subscribe(e -> log.info("index: {}, ts: {}, value: {}", e.getT1(), Instant.ofEpochMilli(e.getT2().getT1()), e.getT2().getT2()));
+            .map(e -> String.format("index: %d, ts: %s, value: %d", e.getT1(), Instant.ofEpochMilli(e.getT2().getT1()), e.getT2().getT2()))
+            .doOnNext(log::info);
     }
 
-    private void predicate() {
+    private Flux<Boolean> predicate() {
         Flux<Integer> data = Flux.just(3, 5, 7, 9, 11, 15, 16, 17);
 
-        // any 검증
-        data.any(e -> e % 2 == 0)
-            .subscribe(hasEvents -> log.info("Has any evens: {}", hasEvents));
-
-        // all 검증
-        data.all(e -> e % 2 == 0)
-            .subscribe(hasEvents -> log.info("Has all evens: {}", hasEvents));
+        return Flux.concat(
+            // any 검증
+            data.any(e -> e % 2 == 0)
+                .doOnNext(hasEvents -> log.info("Has any evens: {}", hasEvents)),
+            // all 검증
+            data.all(e -> e % 2 == 0)
+                .doOnNext(hasEvents -> log.info("Has all evens: {}", hasEvents))
+        );
     }
 
-    private void threeItemGenerateSub() {
+    private Flux<Integer> threeItemGenerateSub() {
         // 3개씩 만들고
         Flux<Integer> seq = Flux.generate(new Consumer<SynchronousSink<Integer>>() {
             private int emitCount = 0;
@@ -341,39 +352,12 @@ public class ReactiveTest implements InitializingBean {
             }
         });
 
-        // 3개씩 소비
-        seq.subscribe(new BaseSubscriber<Integer>() {
-            private int receiveCount = 0;
-
-            @Override
-            protected void hookOnSubscribe(Subscription subscription) {
-                log.info("Subscriber#onSubscribe");
-                log.info("Subscriber request first 3 items");
-                // 구독 시점 3개의 데이터를 요청
-                request(3);
-            }
-
-            @Override
-            protected void hookOnComplete() {
-                log.info("Subscriber#onComplete");
-            }
-
-            @Override
-            protected void hookOnNext(Integer value) {
-                // 다시 3개의 데이터를 요청
-                log.info("Subscribe#onNext : " + value);
-                receiveCount++;
-                if (receiveCount % 3 == 0) {
-                    log.info("Subscriber request next 3items");
-                    request(3);
-                }
-            }
-        });
-    }
-
-    @Override
-    public void afterPropertiesSet() throws Exception {
-        test();
+        // 3개씩 소비 (limitRate가 구독 시점 3개를 요청하고 소비한 만큼 다시 요청)
+        return seq
+            .doOnRequest(n -> log.info("Subscriber request next {} items", n))
+            .doOnNext(value -> log.info("Subscribe#onNext : " + value))
+            .doOnComplete(() -> log.info("Subscriber#onComplete"))
+            .limitRate(3);
     }
 
     private class CustomException extends RuntimeException {
@@ -1,4 +1,72 @@
 package com.wedul.reactivetest;
 
+import com.wedul.reactivetest.fruit.BasketStreamAggregator;
+import com.wedul.reactivetest.fruit.FruitInfo;
+import com.wedul.reactivetest.scenario.ScenarioReport;
+import com.wedul.reactivetest.scenario.ScenarioRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+@RestController
 public class TestController {
+
+    private final ScenarioRunner scenarioRunner;
+    private final BasketStreamAggregator basketStreamAggregator;
+
+    public TestController(ScenarioRunner scenarioRunner, BasketStreamAggregator basketStreamAggregator) {
+        this.scenarioRunner = scenarioRunner;
+        this.basketStreamAggregator = basketStreamAggregator;
+    }
+
+    /**
+     * 실행 가능한 시나리오 이름 목록
+     */
+    @GetMapping("/scenarios")
+    public Set<String> scenarios() {
+        return scenarioRunner.names();
+    }
+
+    /**
+     * 시나리오 하나를 비동기로 실행하고 끝나면 결과를 반환한다.
+     * (Mono를 반환하면 요청 쓰레드는 바로 반환되고 결과는 비동기로 응답된다.)
+     */
+    @PostMapping("/scenarios/{name}")
+    public Mono<ScenarioReport> run(@PathVariable String name) {
+        if (!scenarioRunner.contains(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown scenario : " + name);
+        }
+        return scenarioRunner.run(name);
+    }
+
+    /**
+     * 전체 시나리오를 순서대로 실행
+     */
+    @PostMapping("/scenarios")
+    public Mono<List<ScenarioReport>> runAll() {
+        return scenarioRunner.runAll().collectList();
+    }
+
+    /**
+     * 한 줄에 바구니 하나(JSON 배열)인 NDJSON 본문을 읽으면서 바구니마다 FruitInfo 를 한 줄씩 응답한다.
+     * 본문은 @RequestBody 로 받지 않고 InputStream 에서 바로 읽어서 전체를 메모리에 올리지 않으며,
+     * 응답을 하나 쓴 뒤에 다음 바구니를 읽으므로 본문 크기와 관계없이 메모리 사용량이 일정하다.
+     *
+     * curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @baskets.ndjson localhost:8080/fruit-infos
+     */
+    @PostMapping(value = "/fruit-infos", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    public Flux<FruitInfo> fruitInfos(HttpServletRequest request) throws IOException {
+        return basketStreamAggregator.aggregate(request.getInputStream());
+    }
 }
@@ -1,4 +1,47 @@
 package com.wedul.reactivetest;
 
-public class WebConfiguration {
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 컨트롤러가 Mono/Flux 를 반환하면 MVC는 비동기 요청으로 처리하고 스트리밍 응답은 TaskExecutor 에서 쓴다.
+ * 기본값인 SimpleAsyncTaskExecutor 는 쓰기마다 쓰레드를 만들고, 기본 타임아웃은 큰 업로드를 처리하기에 짧아서 따로 지정한다.
+ * ThreadPoolTaskExecutor 의 큐는 기본적으로 크기 제한이 없으므로 대기 작업 수도 제한한다.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final int asyncThreads;
+    private final int asyncQueueCapacity;
+    private final Duration asyncTimeout;
+
+    public WebConfiguration(@Value("${reactive.web.async-threads:8}") int asyncThreads,
+                            @Value("${reactive.web.async-queue-capacity:1000}") int asyncQueueCapacity,
+                            @Value("${reactive.web.async-timeout:30m}") Duration asyncTimeout) {
+        this.asyncThreads = asyncThreads;
+        this.asyncQueueCapacity = asyncQueueCapacity;
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(asyncThreads);
+        executor.setMaxPoolSize(asyncThreads);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
 }
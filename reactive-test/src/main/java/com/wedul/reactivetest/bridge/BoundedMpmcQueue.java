@@ -0,0 +1,96 @@
+package com.wedul.reactivetest.bridge;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기가 고정된 lock-free 배열 큐 (Dmitry Vyukov의 bounded MPMC queue).
+ *
+ * 칸마다 sequence를 두어 생산자/소비자가 CAS 한 번으로 칸을 차지한다.
+ * 생산자가 여러 쓰레드이고, LATEST 전략에서는 생산자도 오래된 값을 꺼내므로 소비자도 여러 쓰레드일 수 있다.
+ * 용량은 2의 제곱수로 올림한다.
+ * 칸이 하나뿐이면 "n+1 바퀴째 빈 칸"과 "n 바퀴째 찬 칸"의 sequence가 같아지므로 최소 2칸을 둔다.
+ */
+final class BoundedMpmcQueue<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    // 다음에 꺼낼 위치
+    private final AtomicLong head = new AtomicLong();
+    // 다음에 넣을 위치
+    private final AtomicLong tail = new AtomicLong();
+
+    BoundedMpmcQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive : " + capacity);
+        }
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 가득 차 있으면 false
+     */
+    boolean offer(E value) {
+        for (;;) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, value);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 비어 있으면 null
+     */
+    E poll() {
+        for (;;) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E value = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return value;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    void clear() {
+        while (poll() != null) {
+            // 비울 때까지
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.wedul.reactivetest.bridge;
+
+/**
+ * 구독자가 처리하는 속도보다 생산자가 빨라 큐가 가득 찼을 때의 처리 방식
+ */
+public enum OverflowStrategy {
+    // 자리가 날 때까지 생산자 쓰레드를 대기시킨다. (구독자가 같은 쓰레드에서 처리하면 안됨)
+    BLOCK,
+    // 새로 들어온 값을 버린다.
+    DROP,
+    // 가장 오래된 값을 버리고 새로 들어온 값을 넣는다.
+    LATEST
+}
@@ -0,0 +1,249 @@
+package com.wedul.reactivetest.bridge;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 콜백(push) 방식의 생산자(센서 리스너, 스프링 이벤트 등)를 Flux로 연결한다.
+ *
+ * 생산자와 구독자 사이에 크기가 제한된 lock-free 큐를 두고 구독자가 요청(request)한 만큼만 전달한다.
+ * 큐가 가득 차면 OverflowStrategy 에 따라 생산자를 대기시키거나 값을 버린다.
+ * 전달은 한 번에 한 쓰레드만 하도록 wip 카운터로 직렬화하고, 한 번에 최대 batchSize 개씩 꺼낸다.
+ *
+ * ReactiveTest.createFlux 처럼 Flux.create 의 onRequest 에서 값을 만드는 대신 실제 생산자가 emit 을 호출한다.
+ * 구독자는 하나만 허용한다.
+ */
+public class PushBridge<T> {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final BoundedMpmcQueue<T> queue;
+    private final OverflowStrategy overflowStrategy;
+    private final int batchSize;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private volatile Subscriber<? super T> actual;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private Throwable error;
+    // 구독자가 0 이하를 요청하면 전달 루프에서 onError로 알린다. (Reactive Streams §3.9)
+    private volatile Throwable invalidRequest;
+
+    public PushBridge(int capacity, OverflowStrategy overflowStrategy) {
+        this(capacity, overflowStrategy, 256);
+    }
+
+    public PushBridge(int capacity, OverflowStrategy overflowStrategy, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive : " + batchSize);
+        }
+        this.queue = new BoundedMpmcQueue<>(capacity);
+        this.overflowStrategy = overflowStrategy;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 생산자 쪽, 여러 쓰레드에서 호출해도 된다.
+     * @return 큐에 넣었으면 true, 버려졌으면 false
+     */
+    public boolean emit(T value) {
+        if (done || cancelled) {
+            return false;
+        }
+
+        boolean offered = queue.offer(value);
+        if (!offered) {
+            offered = overflow(value);
+        }
+        drain();
+        return offered;
+    }
+
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    public void error(Throwable throwable) {
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    /**
+     * 큐가 가득 차서 버려진 값의 수
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 아직 전달되지 않고 큐에 남아있는 값의 수
+     */
+    public int buffered() {
+        return queue.size();
+    }
+
+    public Flux<T> flux() {
+        return Flux.from(this::subscribe);
+    }
+
+    private boolean overflow(T value) {
+        switch (overflowStrategy) {
+            case BLOCK:
+                while (!queue.offer(value)) {
+                    if (cancelled) {
+                        return false;
+                    }
+                    // 구독자가 큐를 비우도록 한번 더 전달을 시도하고 대기
+                    drain();
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+                return true;
+            case LATEST:
+                while (!queue.offer(value)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                return true;
+            case DROP:
+            default:
+                dropped.incrementAndGet();
+                return false;
+        }
+    }
+
+    private void subscribe(Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            Operators.error(subscriber, new IllegalStateException("PushBridge allows only one subscriber"));
+            return;
+        }
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    invalidRequest = new IllegalArgumentException("§3.9 violated: positive request amount required but it was " + n);
+                } else {
+                    requested.getAndAccumulate(n, Operators::addCap);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                if (wip.getAndIncrement() == 0) {
+                    queue.clear();
+                }
+            }
+        });
+        actual = subscriber;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        for (;;) {
+            Subscriber<? super T> subscriber = actual;
+            if (subscriber != null) {
+                if (drainLoop(subscriber)) {
+                    return;
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return 종료(완료, 에러, 취소) 되었으면 true
+     */
+    private boolean drainLoop(Subscriber<? super T> subscriber) {
+        long r = requested.get();
+
+        for (;;) {
+            // 요청량과 batchSize 중 작은 만큼 한 번에 꺼낸다.
+            long limit = Math.min(r, batchSize);
+            long batch = 0;
+            while (batch != limit) {
+                if (checkCancelled(subscriber)) {
+                    return true;
+                }
+                boolean terminated = done;
+                T value = queue.poll();
+                if (value == null) {
+                    if (terminated) {
+                        terminate(subscriber);
+                        return true;
+                    }
+                    break;
+                }
+                subscriber.onNext(value);
+                batch++;
+            }
+
+            if (checkCancelled(subscriber)) {
+                return true;
+            }
+            if (done && queue.isEmpty()) {
+                terminate(subscriber);
+                return true;
+            }
+
+            if (batch != 0 && r != Long.MAX_VALUE) {
+                r = requested.addAndGet(-batch);
+            }
+            if (batch == 0 || r == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 취소되었거나 잘못된 요청을 받았으면 큐를 비우고 true
+     */
+    private boolean checkCancelled(Subscriber<? super T> subscriber) {
+        Throwable e = invalidRequest;
+        if (e != null && !cancelled) {
+            cancelled = true;
+            queue.clear();
+            subscriber.onError(e);
+            return true;
+        }
+        if (cancelled) {
+            queue.clear();
+            return true;
+        }
+        return false;
+    }
+
+    private void terminate(Subscriber<? super T> subscriber) {
+        Throwable e = error;
+        if (e != null) {
+            subscriber.onError(e);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.wedul.reactivetest.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Mono를 반환하는 함수의 결과를 key 별로 캐시한다.
+ *
+ * 같은 key로 동시에 요청이 들어오면 로딩은 한 번만 실행하고 모두 같은 결과를 받는다. (single-flight)
+ * 결과는 ttl 동안 유지되고 maximumSize 를 넘으면 오래 사용하지 않은 key부터 제거된다.
+ * 에러나 빈 결과는 캐시하지 않으므로 다음 요청에서 다시 로딩한다.
+ * loader 의 Mono는 Caffeine executor 에서 구독하므로 동기 Mono도 맵의 compute 잠금 안에서 실행되지 않고,
+ * loader 안에서 같은 캐시를 다시 조회해도 된다.
+ *
+ * hit, miss, 로딩 시간, eviction 수는 cache.* 메트릭(name 태그)으로 확인한다.
+ */
+public class ReactiveCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+    private final Function<K, Mono<V>> loader;
+
+    public ReactiveCache(String name, Function<K, Mono<V>> loader, Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), name);
+    }
+
+    /**
+     * 구독 시점에 캐시를 조회하고, 없으면 로딩한다.
+     * 구독을 취소해도 같은 key를 기다리는 다른 구독자를 위해 로딩은 계속된다.
+     */
+    public Mono<V> get(K key) {
+        return Mono.defer(() -> Mono.fromFuture(cache.get(key, (k, executor) -> loader.apply(k).subscribeOn(Schedulers.fromExecutor(executor)).toFuture())));
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+}
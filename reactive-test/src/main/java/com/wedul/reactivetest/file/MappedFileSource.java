@@ -0,0 +1,173 @@
+package com.wedul.reactivetest.file;
+
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일을 chunk 단위로 memory-map 해서 구분자로 나눈 레코드를 Flux로 발행한다.
+ *
+ * Flux.generate 기반이라 요청(request)된 개수만큼만 레코드를 만들고, 필요한 chunk만 그때 매핑한다.
+ * 레코드는 매핑된 영역을 가리키는 읽기 전용 ByteBuffer(slice)라 String으로 바꾸기 전까지 복사가 일어나지 않는다.
+ * 레코드가 chunk 경계에 걸치면 레코드 시작 위치부터 다시 매핑하므로 항상 연속된 하나의 버퍼로 전달된다.
+ */
+public final class MappedFileSource {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private MappedFileSource() {
+    }
+
+    public static Flux<ByteBuffer> records(Path path, byte delimiter) {
+        return records(path, delimiter, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param delimiter 레코드 구분자 (결과 레코드에는 포함되지 않음)
+     * @param chunkSize 한 번에 매핑할 크기, 이보다 긴 레코드는 매핑 크기를 늘려서 처리
+     */
+    public static Flux<ByteBuffer> records(Path path, byte delimiter, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive : " + chunkSize);
+        }
+
+        return Flux.generate(
+            () -> new RecordReader(FileChannel.open(path, StandardOpenOption.READ), delimiter, chunkSize),
+            (reader, sink) -> {
+                try {
+                    ByteBuffer record = reader.next();
+                    if (record == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(record);
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+                return reader;
+            },
+            RecordReader::close);
+    }
+
+    /**
+     * 줄 단위 UTF-8 문자열 (줄 끝의 \r 은 제거)
+     */
+    public static Flux<String> lines(Path path) {
+        return lines(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static Flux<String> lines(Path path, int chunkSize) {
+        return records(path, LINE_FEED, chunkSize)
+            .map(MappedFileSource::decodeLine);
+    }
+
+    static String decodeLine(ByteBuffer record) {
+        int limit = record.limit();
+        if (limit > record.position() && record.get(limit - 1) == CARRIAGE_RETURN) {
+            ((Buffer) record).limit(limit - 1);
+        }
+        return StandardCharsets.UTF_8.decode(record).toString();
+    }
+
+    /**
+     * generate의 상태. generate가 한 번에 하나의 쓰레드에서만 호출하므로 동기화하지 않는다.
+     */
+    static final class RecordReader {
+
+        private final FileChannel channel;
+        private final byte delimiter;
+        private final int chunkSize;
+        private final long size;
+
+        private MappedByteBuffer window;
+        // 현재 매핑된 영역의 파일 내 시작 위치
+        private long windowStart;
+        // 다음 레코드의 파일 내 시작 위치
+        private long position;
+
+        RecordReader(FileChannel channel, byte delimiter, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.delimiter = delimiter;
+            this.chunkSize = chunkSize;
+            this.size = channel.size();
+        }
+
+        /**
+         * 다음 레코드, 파일 끝이면 null
+         */
+        ByteBuffer next() throws IOException {
+            if (position >= size) {
+                return null;
+            }
+
+            int mapSize = chunkSize;
+            if (window == null || position >= windowStart + window.limit()) {
+                map(mapSize);
+            }
+
+            for (;;) {
+                int from = (int) (position - windowStart);
+                int end = indexOf(from);
+                if (end >= 0) {
+                    position = windowStart + end + 1;
+                    return slice(from, end);
+                }
+
+                if (windowStart + window.limit() >= size) {
+                    // 구분자로 끝나지 않는 마지막 레코드
+                    position = size;
+                    return slice(from, window.limit());
+                }
+
+                // chunk 경계에 걸친 레코드, 처음부터 걸쳐있었다면 chunk보다 긴 레코드라 매핑 크기를 늘린다.
+                if (from == 0) {
+                    if (mapSize == Integer.MAX_VALUE) {
+                        throw new IOException("record at " + position + " is larger than " + Integer.MAX_VALUE + " bytes");
+                    }
+                    mapSize = (int) Math.min(Integer.MAX_VALUE, (long) mapSize * 2);
+                }
+                map(mapSize);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 읽기 전용 채널이라 닫기 실패는 무시
+            }
+        }
+
+        private void map(int mapSize) throws IOException {
+            long length = Math.min(mapSize, size - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            windowStart = position;
+        }
+
+        private int indexOf(int from) {
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == delimiter) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private ByteBuffer slice(int from, int to) {
+            ByteBuffer duplicate = window.duplicate();
+            ((Buffer) duplicate).limit(to);
+            ((Buffer) duplicate).position(from);
+            return duplicate.slice().asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.wedul.reactivetest.fruit;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 줄마다 바구니 하나(과일 이름 JSON 배열)가 있는 NDJSON 스트림을 읽으면서 바구니마다 FruitInfo 를 발행한다.
+ *
+ * <pre>
+ * ["kiwi", "orange", "lemon"]
+ * ["banana", "lemon"]
+ * </pre>
+ *
+ * Jackson 스트리밍 파서로 토큰 단위로 읽어 바로 카운터에 누적하므로 전체 본문이나 바구니 목록을 메모리에 올리지 않는다.
+ * Flux.generate 라서 구독자가 요청할 때만 다음 바구니를 읽고, 읽기는 블로킹이므로 별도 스케줄러에서 실행한다.
+ * 느린 업로드가 많으면 그만큼 쓰레드가 소켓 읽기에서 대기하므로 크기를 제한하지 않는 blocking 스케줄러를 사용한다.
+ */
+@Service
+public class BasketStreamAggregator {
+
+    private final ObjectMapper objectMapper;
+    private final Scheduler scheduler;
+
+    public BasketStreamAggregator(ObjectMapper objectMapper, SchedulerRegistry schedulerRegistry) {
+        this.objectMapper = objectMapper;
+        this.scheduler = schedulerRegistry.blocking("ndjson");
+    }
+
+    public Flux<FruitInfo> aggregate(InputStream baskets) {
+        return Flux.<FruitInfo, JsonParser>generate(
+            () -> objectMapper.getFactory().createParser(baskets),
+            (parser, sink) -> {
+                try {
+                    FruitInfo fruitInfo = nextBasket(parser);
+                    if (fruitInfo == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(fruitInfo);
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+                return parser;
+            },
+            BasketStreamAggregator::close)
+            .subscribeOn(scheduler);
+    }
+
+    /**
+     * 다음 바구니 하나를 읽어서 집계, 스트림이 끝나면 null
+     */
+    private FruitInfo nextBasket(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("basket must be a JSON array but was " + token + " at " + parser.getCurrentLocation());
+        }
+
+        FruitCounter counter = new FruitCounter();
+        long position = 0;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw new IOException("fruit must be a string but was " + token + " at " + parser.getCurrentLocation());
+            }
+            counter.add(parser.getText(), position++);
+        }
+        return counter.toFruitInfo();
+    }
+
+    private static void close(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // 요청 본문 스트림은 컨테이너가 정리
+        }
+    }
+}
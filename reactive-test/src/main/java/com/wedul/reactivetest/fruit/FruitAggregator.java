@@ -0,0 +1,79 @@
+package com.wedul.reactivetest.fruit;
+
+import com.wedul.reactivetest.file.MappedFileSource;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 바구니의 과일 종류(처음 등장한 순서)와 종류별 개수를 한 번의 순회로 계산한다.
+ *
+ * ReactorStreamTest 처럼 groupBy + reduce 로 LinkedHashMap을 매번 복사하면 종류 수에 대해 제곱으로 느려지므로
+ * 가변 카운터에 바로 누적한다. 큰 바구니는 일정 크기로 묶어서 ParallelFlux rail 별로 누적한 뒤 마지막에 합친다.
+ */
+@Service
+public class FruitAggregator {
+
+    static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private final Scheduler scheduler;
+    private final int parallelism;
+    private final int batchSize;
+
+    public FruitAggregator() {
+        this(Schedulers.parallel(), Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    public FruitAggregator(Scheduler scheduler, int parallelism, int batchSize) {
+        this.scheduler = scheduler;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 호출한 쓰레드에서 순차적으로 누적 (작은 바구니용)
+     */
+    public Mono<FruitInfo> aggregate(Flux<String> fruits) {
+        return Mono.defer(() -> {
+            AtomicLong position = new AtomicLong();
+            return fruits.collect(FruitCounter::new, (counter, fruit) -> counter.add(fruit, position.getAndIncrement()))
+                .map(FruitCounter::toFruitInfo);
+        });
+    }
+
+    public Mono<FruitInfo> aggregate(List<String> basket) {
+        return Mono.fromCallable(() -> {
+            FruitCounter counter = new FruitCounter();
+            counter.addAll(basket, 0);
+            return counter.toFruitInfo();
+        });
+    }
+
+    /**
+     * batchSize 단위로 묶어서 rail 별로 누적하고 마지막에 합친다.
+     * 묶음의 순번으로 원래 위치를 계산하므로 처음 등장한 순서가 유지된다.
+     */
+    public Mono<FruitInfo> aggregateParallel(Flux<String> fruits) {
+        return fruits.buffer(batchSize)
+            .index()
+            .parallel(parallelism)
+            .runOn(scheduler)
+            .collect(FruitCounter::new, (counter, batch) -> counter.addAll(batch.getT2(), batch.getT1() * batchSize))
+            .reduce(FruitCounter::merge)
+            .map(FruitCounter::toFruitInfo)
+            .defaultIfEmpty(new FruitCounter().toFruitInfo());
+    }
+
+    /**
+     * 한 줄에 과일 하나씩 있는 파일을 memory-map 해서 병렬로 집계
+     */
+    public Mono<FruitInfo> aggregateFile(Path path) {
+        return aggregateParallel(MappedFileSource.lines(path));
+    }
+}
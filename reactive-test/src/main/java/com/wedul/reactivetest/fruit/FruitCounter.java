@@ -0,0 +1,76 @@
+package com.wedul.reactivetest.fruit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 과일별 개수와 처음 등장한 위치를 가변 카운터에 누적한다.
+ * rail 마다 하나씩 만들어 누적한 뒤 merge로 합치고, 마지막에 처음 등장한 순서로 정렬해서 FruitInfo를 만든다.
+ * 한 인스턴스는 한 쓰레드에서만 사용한다.
+ */
+final class FruitCounter {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    void add(String fruit, long position) {
+        Entry entry = entries.get(fruit);
+        if (entry == null) {
+            entries.put(fruit, new Entry(fruit, position));
+        } else {
+            entry.count++;
+        }
+    }
+
+    /**
+     * 위치가 position부터 시작하는 연속된 묶음을 누적
+     */
+    void addAll(List<String> fruits, long position) {
+        for (int i = 0; i < fruits.size(); i++) {
+            add(fruits.get(i), position + i);
+        }
+    }
+
+    FruitCounter merge(FruitCounter other) {
+        for (Entry theirs : other.entries.values()) {
+            Entry mine = entries.get(theirs.fruit);
+            if (mine == null) {
+                entries.put(theirs.fruit, theirs);
+            } else {
+                mine.count += theirs.count;
+                mine.firstSeen = Math.min(mine.firstSeen, theirs.firstSeen);
+            }
+        }
+        return this;
+    }
+
+    FruitInfo toFruitInfo() {
+        List<Entry> ordered = new ArrayList<>(entries.values());
+        ordered.sort(Comparator.comparingLong(entry -> entry.firstSeen));
+
+        Map<String, Long> countFruits = new LinkedHashMap<>(capacity(ordered));
+        for (Entry entry : ordered) {
+            countFruits.put(entry.fruit, entry.count);
+        }
+        return new FruitInfo(new ArrayList<>(countFruits.keySet()), countFruits);
+    }
+
+    private static int capacity(Collection<?> values) {
+        return (int) (values.size() / 0.75f) + 1;
+    }
+
+    private static final class Entry {
+        private final String fruit;
+        private long count = 1;
+        private long firstSeen;
+
+        private Entry(String fruit, long firstSeen) {
+            this.fruit = fruit;
+            this.firstSeen = firstSeen;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package com.wedul.reactivetest;
+package com.wedul.reactivetest.fruit;
 
 import java.util.List;
 import java.util.Map;
@@ -12,6 +12,14 @@ public class FruitInfo {
         this.countFruits = countFruits;
     }
 
+    public List<String> getDistinctFruits() {
+        return distinctFruits;
+    }
+
+    public Map<String, Long> getCountFruits() {
+        return countFruits;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,129 @@
+package com.wedul.reactivetest.operator;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * retryWhen 에 넘기는 지수 backoff + jitter companion.
+ *
+ * ReactiveTest.retryWhen 의 take(2), zipWith(range) 예제는 에러가 나면 바로 재시도하지만
+ * 이 companion은 firstBackoff * 2^n (최대 maxBackoff) 에서 jitterFactor 비율만큼 무작위로 줄인 시간만큼 기다린 뒤 재시도한다.
+ * 여러 클라이언트가 같은 순간에 다시 요청하지 않도록 퍼뜨리고, RetryBudget 을 넘으면 더 이상 재시도하지 않고 원래 에러를 전달한다.
+ *
+ * <pre>
+ * mono.retryWhen(Backoff.builder().maxRetries(3).firstBackoff(Duration.ofMillis(100)).budget(budget).build())
+ * </pre>
+ */
+public class Backoff implements Function<Flux<Throwable>, Publisher<?>> {
+
+    private final long maxRetries;
+    private final Duration firstBackoff;
+    private final Duration maxBackoff;
+    private final double jitterFactor;
+    private final RetryBudget budget;
+    private final Scheduler timer;
+
+    private Backoff(Builder builder) {
+        this.maxRetries = builder.maxRetries;
+        this.firstBackoff = builder.firstBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.jitterFactor = builder.jitterFactor;
+        this.budget = builder.budget;
+        this.timer = builder.timer;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * retryWhen은 구독마다 이 함수를 호출하므로 여기서 요청 하나에 해당하는 예산을 적립한다.
+     */
+    @Override
+    public Publisher<?> apply(Flux<Throwable> errors) {
+        if (budget != null) {
+            budget.deposit();
+        }
+
+        return errors.index()
+            .concatMap(indexed -> {
+                long attempt = indexed.getT1();
+                Throwable error = indexed.getT2();
+                if (attempt >= maxRetries || (budget != null && !budget.tryAcquire())) {
+                    return Mono.error(error);
+                }
+                return Mono.delay(delay(attempt), timer);
+            });
+    }
+
+    Duration delay(long attempt) {
+        long first = firstBackoff.toMillis();
+        long max = maxBackoff.toMillis();
+        long backoff = max;
+        // first * 2^attempt 가 long 범위를 넘지 않을 때만 계산
+        if (attempt < Long.numberOfLeadingZeros(Math.max(first, 1)) - 1) {
+            backoff = Math.min(max, first << attempt);
+        }
+        long jitter = (long) (backoff * jitterFactor);
+        if (jitter <= 0) {
+            return Duration.ofMillis(backoff);
+        }
+        return Duration.ofMillis(backoff - ThreadLocalRandom.current().nextLong(jitter + 1));
+    }
+
+    public static class Builder {
+        private long maxRetries = 3;
+        private Duration firstBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double jitterFactor = 0.5;
+        private RetryBudget budget;
+        private Scheduler timer = Schedulers.parallel();
+
+        public Builder maxRetries(long maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder firstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+            return this;
+        }
+
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * 0 이면 jitter 없음, 1 이면 0 ~ backoff 사이의 full jitter
+         */
+        public Builder jitterFactor(double jitterFactor) {
+            if (jitterFactor < 0 || jitterFactor > 1) {
+                throw new IllegalArgumentException("jitterFactor must be between 0 and 1 : " + jitterFactor);
+            }
+            this.jitterFactor = jitterFactor;
+            return this;
+        }
+
+        public Builder budget(RetryBudget budget) {
+            this.budget = budget;
+            return this;
+        }
+
+        public Builder timer(Scheduler timer) {
+            this.timer = timer;
+            return this;
+        }
+
+        public Backoff build() {
+            return new Backoff(this);
+        }
+    }
+}
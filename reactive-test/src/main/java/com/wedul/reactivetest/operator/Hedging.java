@@ -0,0 +1,47 @@
+package com.wedul.reactivetest.operator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * 느린 요청에 대한 hedged request.
+ *
+ * 원본 Mono가 threshold 안에 끝나지 않으면 같은 Mono를 한 번 더 구독하고 먼저 값을 내는 쪽을 사용한다.
+ * 값이 나오면 나머지 구독은 취소된다. 한 쪽이 실패해도 다른 쪽이 끝날 때까지 기다리고, 둘 다 실패하면 에러를 전달한다.
+ * 원본은 구독할 때마다 새로 실행되는 cold Mono 여야 한다.
+ *
+ * 두번째 구독은 재시도와 같으므로 RetryBudget 에서 토큰을 얻었을 때만 보낸다.
+ * 하위 시스템 전체가 느려져도 hedge 는 요청의 ratio 비율을 넘지 않아 부하가 두 배가 되지 않는다.
+ * 원본이 threshold 전에 값 없이 끝나거나 실패하면 hedge 는 보내지 않고 그 결과를 그대로 전달한다.
+ */
+public final class Hedging {
+
+    private Hedging() {
+    }
+
+    public static <T> Mono<T> hedge(Mono<T> source, Duration threshold, RetryBudget budget) {
+        return hedge(source, threshold, budget, Schedulers.parallel());
+    }
+
+    public static <T> Mono<T> hedge(Mono<T> source, Duration threshold, RetryBudget budget, Scheduler timer) {
+        return Mono.defer(() -> {
+            budget.deposit();
+
+            // 원본이 끝나면(값, 빈 결과, 에러) 아직 기다리는 hedge 를 취소한다.
+            MonoProcessor<Void> primaryTerminated = MonoProcessor.create();
+            Mono<T> primary = source.doOnTerminate(primaryTerminated::onComplete);
+            Mono<T> hedged = Mono.delay(threshold, timer)
+                .takeUntilOther(primaryTerminated)
+                .filter(tick -> budget.tryAcquire())
+                .flatMap(tick -> source);
+
+            return Flux.mergeDelayError(1, primary, hedged)
+                .next();
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.wedul.reactivetest.operator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 파이프라인이 공유하는 재시도 예산.
+ *
+ * 요청(구독) 하나마다 ratio 만큼 토큰이 쌓이고 재시도 한 번에 토큰 하나를 사용한다.
+ * 장애 상황에서 재시도가 전체 요청의 ratio 비율을 넘지 못하므로 재시도 폭주(retry storm)를 막는다.
+ * 처음에는 minRetries 만큼의 토큰으로 시작하고 maxRetries 를 넘겨서 쌓이지 않는다.
+ */
+public class RetryBudget {
+
+    // 토큰을 소수점 단위로 다루기 위한 배율
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int minRetries, int maxRetries) {
+        if (ratio < 0 || minRetries < 0 || maxRetries < minRetries) {
+            throw new IllegalArgumentException("invalid retry budget : ratio=" + ratio + ", min=" + minRetries + ", max=" + maxRetries);
+        }
+        this.depositPerRequest = (long) (ratio * SCALE);
+        this.maxBalance = maxRetries * SCALE;
+        this.balance = new AtomicLong(minRetries * SCALE);
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * 재시도 가능하면 토큰 하나를 사용하고 true
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double available() {
+        return (double) balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,62 @@
+package com.wedul.reactivetest.profiler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * .log() 대신 파이프라인의 원하는 위치에 붙여서 stage 별 통계를 모은다.
+ *
+ * <pre>
+ * flux.map(...)
+ *     .transform(profiler.stage("after-map"))
+ *     .publishOn(scheduler)
+ *     .transform(profiler.stage("after-publishOn"))
+ * </pre>
+ *
+ * 측정한 onNext 시간은 그 위치 이후 downstream 전체의 처리 시간이므로 인접한 두 stage 의 차이가 그 사이 연산자의 비용이다.
+ * reactive.profiler.enabled=false 이면 stage 는 아무것도 하지 않는 함수를 반환한다.
+ * 결과는 /actuator/pipelines 에서 확인한다.
+ */
+@Component
+public class PipelineProfiler {
+
+    private final boolean enabled;
+    private final int sampleRate;
+    private final Map<String, StageStats> stages = new ConcurrentHashMap<>();
+
+    public PipelineProfiler(@Value("${reactive.profiler.enabled:true}") boolean enabled,
+                            @Value("${reactive.profiler.sample-rate:100}") int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sample-rate must be positive : " + sampleRate);
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> stage(String name) {
+        if (!enabled) {
+            return Function.identity();
+        }
+        StageStats stats = stages.computeIfAbsent(name, StageStats::new);
+        return flux -> new ProfiledFlux<>(flux, stats, sampleRate);
+    }
+
+    public Map<String, StageReport> report() {
+        Map<String, StageReport> report = new TreeMap<>();
+        stages.forEach((name, stats) -> report.put(name, stats.snapshot()));
+        return report;
+    }
+
+    /**
+     * 이미 만들어진 파이프라인도 같은 통계 객체에 기록하므로 지우지 않고 0으로 되돌린다.
+     */
+    public void reset() {
+        stages.values().forEach(StageStats::reset);
+    }
+}
@@ -0,0 +1,32 @@
+package com.wedul.reactivetest.profiler;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/pipelines 로 stage 별 통계 조회, DELETE 로 초기화
+ */
+@Component
+@Endpoint(id = "pipelines")
+public class PipelineProfilerEndpoint {
+
+    private final PipelineProfiler pipelineProfiler;
+
+    public PipelineProfilerEndpoint(PipelineProfiler pipelineProfiler) {
+        this.pipelineProfiler = pipelineProfiler;
+    }
+
+    @ReadOperation
+    public Map<String, StageReport> pipelines() {
+        return pipelineProfiler.report();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        pipelineProfiler.reset();
+    }
+}
@@ -0,0 +1,36 @@
+package com.wedul.reactivetest.profiler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * stage 별 신호 수, 요청(demand) 패턴, 샘플링한 onNext 처리 시간, 쓰레드 전환 횟수
+ */
+@Getter
+@AllArgsConstructor
+public class StageReport {
+
+    private final String name;
+    private final long subscriptions;
+    private final long onNext;
+    private final long onError;
+    private final long onComplete;
+    private final long cancels;
+    // request(n) 호출 횟수와 요청한 n의 합 (unbounded 제외)
+    private final long requestCalls;
+    private final long requested;
+    private final long unboundedRequests;
+    // 직전 onNext 와 다른 쓰레드에서 onNext 가 온 횟수
+    private final long threadHops;
+    // onNext 처리 시간은 샘플링한 신호만 측정 (이 stage 이후 downstream 전체에서 걸린 시간)
+    private final long sampledOnNext;
+    private final long avgOnNextNanos;
+    private final long maxOnNextNanos;
+    // onNext 가 호출된 쓰레드
+    private final Set<String> threads;
+    // onSubscribe, request 가 호출된 쓰레드 (subscribeOn 은 구독한 쓰레드와 요소를 내보내는 쓰레드가 다르다)
+    private final Set<String> subscribeThreads;
+    private final Set<String> requestThreads;
+}
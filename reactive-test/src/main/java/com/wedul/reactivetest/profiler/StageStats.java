@@ -0,0 +1,80 @@
+package com.wedul.reactivetest.profiler;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * stage 하나의 누적 통계. 여러 구독(쓰레드)에서 동시에 기록하므로 LongAdder 를 사용한다.
+ */
+final class StageStats {
+
+    private final String name;
+    final LongAdder subscriptions = new LongAdder();
+    final LongAdder onNext = new LongAdder();
+    final LongAdder onError = new LongAdder();
+    final LongAdder onComplete = new LongAdder();
+    final LongAdder cancels = new LongAdder();
+    final LongAdder requestCalls = new LongAdder();
+    final LongAdder requested = new LongAdder();
+    final LongAdder unboundedRequests = new LongAdder();
+    final LongAdder threadHops = new LongAdder();
+    final LongAdder sampledOnNext = new LongAdder();
+    final LongAdder sampledOnNextNanos = new LongAdder();
+    final AtomicLong maxOnNextNanos = new AtomicLong();
+    // onNext, onSubscribe, request 가 호출된 쓰레드
+    final Set<String> threads = ConcurrentHashMap.newKeySet();
+    final Set<String> subscribeThreads = ConcurrentHashMap.newKeySet();
+    final Set<String> requestThreads = ConcurrentHashMap.newKeySet();
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    void recordOnNextNanos(long nanos) {
+        sampledOnNext.increment();
+        sampledOnNextNanos.add(nanos);
+        maxOnNextNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void reset() {
+        subscriptions.reset();
+        onNext.reset();
+        onError.reset();
+        onComplete.reset();
+        cancels.reset();
+        requestCalls.reset();
+        requested.reset();
+        unboundedRequests.reset();
+        threadHops.reset();
+        sampledOnNext.reset();
+        sampledOnNextNanos.reset();
+        maxOnNextNanos.set(0);
+        threads.clear();
+        subscribeThreads.clear();
+        requestThreads.clear();
+    }
+
+    StageReport snapshot() {
+        long samples = sampledOnNext.sum();
+        return new StageReport(
+            name,
+            subscriptions.sum(),
+            onNext.sum(),
+            onError.sum(),
+            onComplete.sum(),
+            cancels.sum(),
+            requestCalls.sum(),
+            requested.sum(),
+            unboundedRequests.sum(),
+            threadHops.sum(),
+            samples,
+            samples == 0 ? 0 : sampledOnNextNanos.sum() / samples,
+            maxOnNextNanos.get(),
+            new TreeSet<>(threads),
+            new TreeSet<>(subscribeThreads),
+            new TreeSet<>(requestThreads));
+    }
+}
@@ -0,0 +1,21 @@
+package com.wedul.reactivetest.scenario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 시나리오 한 번 실행 결과 (소요 시간, onNext 개수, 신호를 받은 쓰레드)
+ */
+@Getter
+@AllArgsConstructor
+public class ScenarioReport {
+
+    private final String name;
+    private final long elapsedMillis;
+    private final long elementCount;
+    private final Set<String> threads;
+    // 정상 종료면 null
+    private final String error;
+}
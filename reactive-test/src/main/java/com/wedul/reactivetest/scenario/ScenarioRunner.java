@@ -0,0 +1,84 @@
+package com.wedul.reactivetest.scenario;
+
+import com.wedul.reactivetest.ReactiveTest;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ReactiveTest에 등록된 시나리오를 요청 시점에 비동기로 실행하고 결과를 측정한다.
+ * 애플리케이션 기동 시에는 아무 시나리오도 실행하지 않는다.
+ */
+@Slf4j
+@Service
+public class ScenarioRunner {
+
+    private final Map<String, Supplier<Flux<?>>> scenarios;
+    private final Scheduler scheduler;
+
+    public ScenarioRunner(ReactiveTest reactiveTest, SchedulerRegistry schedulerRegistry) {
+        this.scenarios = reactiveTest.scenarios();
+        this.scheduler = schedulerRegistry.get("scenario");
+    }
+
+    public Set<String> names() {
+        return scenarios.keySet();
+    }
+
+    public boolean contains(String name) {
+        return scenarios.containsKey(name);
+    }
+
+    /**
+     * 시나리오 하나를 구독해서 완료(또는 에러)될 때 리포트를 발행한다.
+     * 시나리오 자체의 에러는 리포트에 담고 Mono는 정상 종료한다.
+     */
+    public Mono<ScenarioReport> run(String name) {
+        Supplier<Flux<?>> scenario = scenarios.get(name);
+        if (scenario == null) {
+            return Mono.error(new IllegalArgumentException("unknown scenario : " + name));
+        }
+
+        return Mono.defer(() -> {
+            AtomicLong count = new AtomicLong();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            long start = System.nanoTime();
+
+            return scenario.get()
+                .doOnSubscribe(subscription -> threads.add(Thread.currentThread().getName()))
+                .doOnNext(value -> {
+                    count.incrementAndGet();
+                    threads.add(Thread.currentThread().getName());
+                })
+                .then(Mono.fromCallable(() -> report(name, start, count, threads, null)))
+                .onErrorResume(e -> Mono.just(report(name, start, count, threads, e.toString())));
+        })
+            .doOnNext(report -> log.info("scenario {} finished in {}ms ({} elements)", name, report.getElapsedMillis(), report.getElementCount()))
+            // 요청 쓰레드가 아닌 별도 스케줄러에서 구독
+            .subscribeOn(scheduler);
+    }
+
+    /**
+     * 등록된 순서대로 모든 시나리오를 하나씩 실행한다.
+     */
+    public Flux<ScenarioReport> runAll() {
+        return Flux.fromIterable(scenarios.keySet())
+            .concatMap(this::run);
+    }
+
+    private ScenarioReport report(String name, long start, AtomicLong count, Set<String> threads, String error) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new ScenarioReport(name, elapsedMillis, count.get(), new TreeSet<>(threads), error);
+    }
+}
@@ -0,0 +1,65 @@
+package com.wedul.reactivetest.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 크기 쓰레드와 크기가 제한된 큐를 가진 executor.
+ * 큐가 가득 차면 RejectedExecutionException 을 던지고 Reactor는 이를 onError 신호로 전달한다.
+ *
+ * 활성 쓰레드 수, 대기 작업 수, 큐 대기 시간, 실행 시간, 거절 횟수를 측정한다.
+ */
+class InstrumentedExecutor extends ThreadPoolExecutor {
+
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+    private final Counter rejectedCounter;
+
+    InstrumentedExecutor(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory(name + "-"));
+
+        Gauge.builder("reactor.scheduler.active", this, ThreadPoolExecutor::getActiveCount)
+            .tag("name", name)
+            .register(meterRegistry);
+        Gauge.builder("reactor.scheduler.queued", this, executor -> executor.getQueue().size())
+            .tag("name", name)
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("reactor.scheduler.task.wait")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.executionTimer = Timer.builder("reactor.scheduler.task.execution")
+            .tag("name", name)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("reactor.scheduler.rejected")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submitted = System.nanoTime();
+        try {
+            super.execute(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    command.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.wedul.reactivetest.scheduler;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * reactive.scheduler.pools.{이름}.threads / queue-capacity 로 스케줄러별 크기를 지정한다.
+ * 지정하지 않은 이름은 기본값(threads, queue-capacity)으로 만든다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "reactive.scheduler")
+public class SchedulerProperties {
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 1000;
+    // 종료 시 실행중인 작업을 기다리는 최대 시간
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    // 블로킹 작업용 스케줄러를 virtual thread 로 만들지 (지원하지 않는 JVM 에서는 elastic 사용)
+    private boolean virtualThreads = true;
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    Pool pool(String name) {
+        Pool pool = pools.get(name);
+        if (pool == null) {
+            pool = new Pool();
+        }
+        if (pool.getThreads() <= 0) {
+            pool.setThreads(threads);
+        }
+        if (pool.getQueueCapacity() <= 0) {
+            pool.setQueueCapacity(queueCapacity);
+        }
+        return pool;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int threads;
+        private int queueCapacity;
+    }
+}
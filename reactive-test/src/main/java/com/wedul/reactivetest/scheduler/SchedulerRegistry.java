@@ -0,0 +1,116 @@
+package com.wedul.reactivetest.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름별 스케줄러를 한 번만 만들어서 여러 파이프라인이 같이 사용한다.
+ * (Schedulers.newElastic 을 호출할 때마다 쓰레드 풀이 새로 생기고 dispose 되지 않던 문제)
+ *
+ * 컨텍스트 종료 시 새 작업을 막고 실행중인 작업이 끝날 때까지 shutdownTimeout 만큼 기다린 뒤 정리한다.
+ * 쓰레드 풀에는 지연 실행 기능이 없으므로 delay, timeout 같은 시간 기반 연산자는 기존처럼 Schedulers.parallel()을 사용한다.
+ *
+ * 블로킹 I/O 단계는 blocking(name) 을 사용한다. JVM 이 지원하면 작업마다 virtual thread 를 쓰고,
+ * 아니면 Schedulers.elastic() 을 사용한다.
+ */
+@Slf4j
+@Component
+public class SchedulerRegistry implements DisposableBean {
+
+    private final SchedulerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ManagedScheduler> schedulers = new ConcurrentHashMap<>();
+    private final Map<String, ManagedScheduler> blockingSchedulers = new ConcurrentHashMap<>();
+
+    public SchedulerRegistry(SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 이름에 해당하는 스케줄러, 처음 요청될 때 만든다.
+     */
+    public Scheduler get(String name) {
+        return schedulers.computeIfAbsent(name, this::create).scheduler;
+    }
+
+    /**
+     * 블로킹 작업용 스케줄러. 동시 작업 수만큼 쓰레드가 필요하므로 크기를 제한하지 않는다.
+     */
+    public Scheduler blocking(String name) {
+        return blockingSchedulers.computeIfAbsent(name, this::createBlocking).scheduler;
+    }
+
+    private ManagedScheduler createBlocking(String name) {
+        if (properties.isVirtualThreads()) {
+            Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor(name);
+            if (executor.isPresent()) {
+                log.info("create virtual thread scheduler {}", name);
+                return new ManagedScheduler(executor.get(), Schedulers.fromExecutorService(executor.get()));
+            }
+            log.info("virtual threads are not supported on java {}, {} uses elastic scheduler", System.getProperty("java.version"), name);
+        }
+        // 공용 elastic 스케줄러는 다른 곳에서도 사용하므로 종료하지 않는다.
+        return new ManagedScheduler(null, Schedulers.elastic());
+    }
+
+    private ManagedScheduler create(String name) {
+        SchedulerProperties.Pool pool = properties.pool(name);
+        log.info("create scheduler {} (threads: {}, queue: {})", name, pool.getThreads(), pool.getQueueCapacity());
+
+        InstrumentedExecutor executor = new InstrumentedExecutor(name, pool.getThreads(), pool.getQueueCapacity(), meterRegistry);
+        return new ManagedScheduler(executor, Schedulers.fromExecutorService(executor));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        schedulers.values().forEach(ManagedScheduler::shutdown);
+        blockingSchedulers.values().forEach(ManagedScheduler::shutdown);
+
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        awaitTermination(schedulers, deadline);
+        awaitTermination(blockingSchedulers, deadline);
+    }
+
+    private void awaitTermination(Map<String, ManagedScheduler> managedSchedulers, long deadline) throws InterruptedException {
+        for (Map.Entry<String, ManagedScheduler> entry : managedSchedulers.entrySet()) {
+            ManagedScheduler managed = entry.getValue();
+            if (managed.executor == null) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (!managed.executor.awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                log.warn("scheduler {} did not terminate in {}", entry.getKey(), properties.getShutdownTimeout());
+            }
+            managed.scheduler.dispose();
+        }
+        managedSchedulers.clear();
+    }
+
+    private static class ManagedScheduler {
+        // 공용 스케줄러면 null
+        private final ExecutorService executor;
+        private final Scheduler scheduler;
+
+        private ManagedScheduler(ExecutorService executor, Scheduler scheduler) {
+            this.executor = executor;
+            this.scheduler = scheduler;
+        }
+
+        private void shutdown() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.wedul.reactivetest.scheduler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 실행중인 JVM 이 virtual thread 를 지원하면 작업마다 virtual thread 를 만드는 executor 를 만든다.
+ *
+ * 빌드는 1.8 을 유지하므로 Thread.ofVirtual, Executors.newThreadPerTaskExecutor 는 리플렉션으로 호출한다.
+ * 21 미만이거나 preview 가 꺼진 19, 20 에서는 Optional.empty() 를 반환한다.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static Optional<ExecutorService> newThreadPerTaskExecutor(String name) {
+        return factory(name + "-").flatMap(factory -> {
+            try {
+                Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, factory));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Thread.ofVirtual().name(prefix, 0).factory()
+     */
+    private static Optional<ThreadFactory> factory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (InvocationTargetException e) {
+            // preview 기능이 꺼져있으면 UnsupportedOperationException
+            return Optional.empty();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
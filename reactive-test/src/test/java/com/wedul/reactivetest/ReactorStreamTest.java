@@ -1,5 +1,6 @@
 package com.wedul.reactivetest;
 
+import com.wedul.reactivetest.fruit.FruitInfo;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -0,0 +1,149 @@
+package com.wedul.reactivetest.bridge;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PushBridgeTest {
+
+    @Test
+    @DisplayName("요청한 만큼만 전달하고 나머지는 큐에 보관")
+    void honor_demand() {
+        PushBridge<Integer> bridge = new PushBridge<>(8, OverflowStrategy.DROP);
+        for (int i = 0; i < 5; i++) {
+            bridge.emit(i);
+        }
+        bridge.complete();
+
+        StepVerifier.create(bridge.flux(), 2)
+            .expectNext(0, 1)
+            .then(() -> assertThat(bridge.buffered()).isEqualTo(3))
+            .thenRequest(3)
+            .expectNext(2, 3, 4)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("DROP은 새 값을, LATEST는 오래된 값을 버린다")
+    void overflow_drop_and_latest() {
+        PushBridge<Integer> drop = new PushBridge<>(2, OverflowStrategy.DROP);
+        PushBridge<Integer> latest = new PushBridge<>(2, OverflowStrategy.LATEST);
+        for (int i = 0; i < 5; i++) {
+            drop.emit(i);
+            latest.emit(i);
+        }
+        drop.complete();
+        latest.complete();
+
+        StepVerifier.create(drop.flux())
+            .expectNext(0, 1)
+            .verifyComplete();
+        StepVerifier.create(latest.flux())
+            .expectNext(3, 4)
+            .verifyComplete();
+        assertThat(drop.dropped()).isEqualTo(3);
+        assertThat(latest.dropped()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("용량 1은 최소 2칸으로 올림하고 넘친 값만 버린다")
+    void capacity_one() {
+        PushBridge<Integer> bridge = new PushBridge<>(1, OverflowStrategy.DROP);
+
+        StepVerifier.create(bridge.flux(), 1)
+            .then(() -> {
+                for (int i = 0; i < 5; i++) {
+                    bridge.emit(i);
+                }
+                bridge.complete();
+            })
+            .expectNext(0)
+            .thenRequest(Long.MAX_VALUE)
+            .expectNext(1, 2)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+        assertThat(bridge.dropped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("BLOCK은 여러 생산자의 값을 모두 전달")
+    void overflow_block() {
+        PushBridge<Integer> bridge = new PushBridge<>(4, OverflowStrategy.BLOCK, 2);
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    bridge.emit(i);
+                }
+            });
+        }
+
+        StepVerifier.create(bridge.flux().publishOn(Schedulers.single(), 4).count())
+            .then(() -> {
+                for (Thread producer : producers) {
+                    producer.start();
+                }
+            })
+            .then(() -> {
+                for (Thread producer : producers) {
+                    try {
+                        producer.join();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                bridge.complete();
+            })
+            .expectNext(4000L)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+        assertThat(bridge.dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("구독자는 하나만")
+    void single_subscriber() {
+        PushBridge<Integer> bridge = new PushBridge<>(2, OverflowStrategy.DROP);
+        bridge.flux().subscribe();
+
+        StepVerifier.create(bridge.flux())
+            .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("0 이하를 요청하면 onError(IllegalArgumentException)")
+    void invalid_request() {
+        PushBridge<Integer> bridge = new PushBridge<>(2, OverflowStrategy.DROP);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        bridge.flux().subscribe(new BaseSubscriber<Integer>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(0);
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                error.set(throwable);
+            }
+        });
+
+        assertThat(error.get()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bridge.emit(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("batchSize는 양수")
+    void invalid_batch_size() {
+        assertThatThrownBy(() -> new PushBridge<Integer>(2, OverflowStrategy.BLOCK, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
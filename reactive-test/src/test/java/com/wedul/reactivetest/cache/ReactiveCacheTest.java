@@ -0,0 +1,86 @@
+package com.wedul.reactivetest.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveCacheTest {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("같은 key 동시 요청은 한번만 로딩")
+    void single_flight() {
+        AtomicInteger loaded = new AtomicInteger();
+        ReactiveCache<String, Integer> cache = new ReactiveCache<>("test", key -> Mono.fromCallable(() -> {
+            loaded.incrementAndGet();
+            return key.length();
+        }).delayElement(Duration.ofMillis(100)), Duration.ofMinutes(1), 100, meterRegistry);
+
+        StepVerifier.create(Flux.range(0, 10)
+                .flatMap(i -> cache.get("kiwi").subscribeOn(Schedulers.parallel())))
+            .expectNextCount(10)
+            .verifyComplete();
+
+        assertThat(loaded).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("에러는 캐시하지 않는다")
+    void error_not_cached() {
+        AtomicInteger loaded = new AtomicInteger();
+        ReactiveCache<String, Integer> cache = new ReactiveCache<>("error", key -> Mono.fromCallable(() -> {
+            if (loaded.incrementAndGet() == 1) {
+                throw new IllegalStateException("first load fails");
+            }
+            return key.length();
+        }), Duration.ofMinutes(1), 100, meterRegistry);
+
+        StepVerifier.create(cache.get("lemon"))
+            .verifyError(IllegalStateException.class);
+        StepVerifier.create(cache.get("lemon"))
+            .expectNext(5)
+            .verifyComplete();
+        StepVerifier.create(cache.get("lemon"))
+            .expectNext(5)
+            .verifyComplete();
+
+        assertThat(loaded).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("동기 loader도 호출 쓰레드가 아닌 executor에서 구독하고 다시 캐시를 조회할 수 있다")
+    void load_off_compute_path() {
+        AtomicReference<Thread> loadThread = new AtomicReference<>();
+        AtomicReference<ReactiveCache<String, Integer>> self = new AtomicReference<>();
+        ReactiveCache<String, Integer> cache = new ReactiveCache<>("reentrant", key -> {
+            if (key.equals("kiwi")) {
+                return self.get().get("apple").map(length -> length + key.length());
+            }
+            return Mono.fromCallable(() -> {
+                loadThread.set(Thread.currentThread());
+                return key.length();
+            });
+        }, Duration.ofMinutes(1), 100, meterRegistry);
+        self.set(cache);
+
+        StepVerifier.create(cache.get("kiwi"))
+            .expectNext(9)
+            .verifyComplete();
+
+        assertThat(loadThread.get()).isNotEqualTo(Thread.currentThread());
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+    }
+}
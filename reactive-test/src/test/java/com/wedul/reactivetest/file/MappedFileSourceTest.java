@@ -0,0 +1,54 @@
+package com.wedul.reactivetest.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class MappedFileSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("chunk 경계에 걸친 레코드와 chunk보다 긴 레코드도 한 줄로 읽는다")
+    void lines_across_chunks() throws IOException {
+        Path file = write("kiwi\r\norange\nstrawberrystrawberry\n\nlemon");
+
+        StepVerifier.create(MappedFileSource.lines(file, 4))
+            .expectNext("kiwi", "orange", "strawberrystrawberry", "", "lemon")
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("요청한 만큼만 레코드를 만든다")
+    void lines_honor_demand() throws IOException {
+        Path file = write("kiwi\norange\nlemon\n");
+
+        StepVerifier.create(MappedFileSource.lines(file, 8), 1)
+            .expectNext("kiwi")
+            .expectNoEvent(Duration.ofMillis(50))
+            .thenRequest(2)
+            .expectNext("orange", "lemon")
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("빈 파일")
+    void empty_file() throws IOException {
+        StepVerifier.create(MappedFileSource.lines(write("")))
+            .verifyComplete();
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("basket.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
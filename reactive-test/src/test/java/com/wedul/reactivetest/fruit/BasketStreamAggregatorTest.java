@@ -0,0 +1,57 @@
+package com.wedul.reactivetest.fruit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedul.reactivetest.scheduler.SchedulerProperties;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BasketStreamAggregatorTest {
+
+    final SchedulerRegistry schedulerRegistry = new SchedulerRegistry(new SchedulerProperties(), new SimpleMeterRegistry());
+    final BasketStreamAggregator aggregator = new BasketStreamAggregator(new ObjectMapper(), schedulerRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        schedulerRegistry.destroy();
+    }
+
+    @Test
+    @DisplayName("NDJSON 바구니마다 FruitInfo 발행")
+    void aggregate_ndjson() {
+        InputStream body = stream("[\"kiwi\", \"orange\", \"kiwi\"]\n[\"banana\"]\n\n[]\n");
+
+        StepVerifier.create(aggregator.aggregate(body))
+            .assertNext(info -> {
+                assertThat(info.getDistinctFruits()).isEqualTo(Arrays.asList("kiwi", "orange"));
+                assertThat(info.getCountFruits()).containsEntry("kiwi", 2L).containsEntry("orange", 1L);
+            })
+            .assertNext(info -> assertThat(info.getDistinctFruits()).isEqualTo(Collections.singletonList("banana")))
+            .assertNext(info -> assertThat(info.getDistinctFruits()).isEmpty())
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("배열이 아닌 바구니는 에러")
+    void aggregate_invalid_basket() {
+        StepVerifier.create(aggregator.aggregate(stream("[\"kiwi\"]\n{\"fruit\": \"kiwi\"}\n")))
+            .expectNextCount(1)
+            .verifyError(IOException.class);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.wedul.reactivetest.fruit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FruitAggregatorTest {
+
+    final List<String> basket = Arrays.asList("strawberry", "orange", "lemon", "grape", "strawberry");
+    final FruitInfo expected = new FruitInfo(
+        Arrays.asList("strawberry", "orange", "lemon", "grape"),
+        new LinkedHashMap<String, Long>() { {
+            put("strawberry", 2L);
+            put("orange", 1L);
+            put("lemon", 1L);
+            put("grape", 1L);
+        }}
+    );
+
+    // 작은 batch로 rail 여러개에 나뉘어도 순서가 유지되는지 확인
+    final FruitAggregator fruitAggregator = new FruitAggregator(Schedulers.parallel(), 4, 2);
+
+    @Test
+    @DisplayName("한번의 순회로 과일 종류와 개수 계산")
+    void aggregate() {
+        StepVerifier.create(fruitAggregator.aggregate(Flux.fromIterable(basket)))
+            .expectNext(expected)
+            .verifyComplete();
+
+        StepVerifier.create(fruitAggregator.aggregate(basket))
+            .expectNext(expected)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("병렬로 계산해도 처음 등장한 순서 유지")
+    void aggregate_parallel() {
+        StepVerifier.create(fruitAggregator.aggregateParallel(Flux.fromIterable(basket)))
+            .expectNext(expected)
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("큰 바구니에서 순차와 병렬 결과가 같다")
+    void aggregate_parallel_large_basket() {
+        FruitAggregator aggregator = new FruitAggregator();
+        Flux<String> fruits = Flux.range(0, 1_000_000).map(i -> "fruit-" + (i * 31 % 997));
+
+        FruitInfo sequential = aggregator.aggregate(fruits).block();
+        FruitInfo parallel = aggregator.aggregateParallel(fruits).block();
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.getDistinctFruits()).hasSize(997);
+        assertThat(parallel.getDistinctFruits().get(1)).isEqualTo("fruit-31");
+    }
+
+    @Test
+    @DisplayName("빈 바구니")
+    void aggregate_empty() {
+        StepVerifier.create(fruitAggregator.aggregateParallel(Flux.empty()))
+            .assertNext(info -> assertThat(info.getDistinctFruits()).isEmpty())
+            .verifyComplete();
+    }
+}
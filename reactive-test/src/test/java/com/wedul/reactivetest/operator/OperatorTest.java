@@ -0,0 +1,154 @@
+package com.wedul.reactivetest.operator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperatorTest {
+
+    @Test
+    @DisplayName("threshold 안에 끝나지 않으면 한번 더 구독해서 먼저 끝난 값을 사용")
+    void hedge_slow_request() {
+        AtomicInteger subscribed = new AtomicInteger();
+        // 첫번째 구독은 10초, 두번째 구독은 1초 걸림
+        Mono<String> source = Mono.defer(() -> subscribed.incrementAndGet() == 1
+            ? Mono.delay(Duration.ofSeconds(10)).thenReturn("first")
+            : Mono.delay(Duration.ofSeconds(1)).thenReturn("hedged"));
+
+        StepVerifier.withVirtualTime(() -> Hedging.hedge(source, Duration.ofMillis(500), new RetryBudget(0.1, 10, 10)))
+            .thenAwait(Duration.ofMillis(1500))
+            .expectNext("hedged")
+            .verifyComplete();
+
+        assertThat(subscribed).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("threshold 안에 끝나면 hedge 하지 않음")
+    void hedge_fast_request() {
+        AtomicInteger subscribed = new AtomicInteger();
+        Mono<String> source = Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).thenReturn("fast");
+        });
+
+        StepVerifier.withVirtualTime(() -> Hedging.hedge(source, Duration.ofMillis(500), new RetryBudget(0.1, 10, 10)))
+            .thenAwait(Duration.ofSeconds(1))
+            .expectNext("fast")
+            .verifyComplete();
+
+        assertThat(subscribed).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("예산이 없으면 hedge 하지 않고 원본을 기다림")
+    void hedge_without_budget() {
+        AtomicInteger subscribed = new AtomicInteger();
+        Mono<String> source = Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return Mono.delay(Duration.ofSeconds(10)).thenReturn("slow");
+        });
+
+        StepVerifier.withVirtualTime(() -> Hedging.hedge(source, Duration.ofMillis(500), new RetryBudget(0, 0, 0)))
+            .thenAwait(Duration.ofSeconds(10))
+            .expectNext("slow")
+            .verifyComplete();
+
+        assertThat(subscribed).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("원본이 threshold 전에 빈 결과로 끝나면 hedge 하지 않음")
+    void hedge_empty_primary() {
+        AtomicInteger subscribed = new AtomicInteger();
+        RetryBudget budget = new RetryBudget(0.5, 1, 2);
+        Mono<String> source = Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then(Mono.<String>empty());
+        });
+
+        StepVerifier.withVirtualTime(() -> Hedging.hedge(source, Duration.ofMillis(500), budget))
+            .thenAwait(Duration.ofSeconds(1))
+            .verifyComplete();
+
+        assertThat(subscribed).hasValue(1);
+        assertThat(budget.available()).isEqualTo(1.5);
+    }
+
+    @Test
+    @DisplayName("원본이 threshold 전에 실패하면 hedge 하지 않고 에러 전달")
+    void hedge_failed_primary() {
+        AtomicInteger subscribed = new AtomicInteger();
+        RetryBudget budget = new RetryBudget(0.5, 1, 2);
+        Mono<String> source = Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(new IllegalStateException("down")));
+        });
+
+        StepVerifier.withVirtualTime(() -> Hedging.hedge(source, Duration.ofMillis(500), budget))
+            .thenAwait(Duration.ofSeconds(1))
+            .verifyError(IllegalStateException.class);
+
+        assertThat(subscribed).hasValue(1);
+        assertThat(budget.available()).isEqualTo(1.5);
+    }
+
+    @Test
+    @DisplayName("지수 backoff 후 재시도하고 maxRetries를 넘으면 에러")
+    void backoff_retry() {
+        AtomicInteger subscribed = new AtomicInteger();
+        Mono<String> source = Mono.defer(() -> {
+            subscribed.incrementAndGet();
+            return Mono.<String>error(new IllegalStateException("flaky"));
+        });
+
+        StepVerifier.withVirtualTime(() -> source.retryWhen(Backoff.builder()
+                .maxRetries(2)
+                .firstBackoff(Duration.ofMillis(100))
+                .jitterFactor(0)
+                .build()))
+            .expectSubscription()
+            .thenAwait(Duration.ofMillis(100))
+            .then(() -> assertThat(subscribed).hasValue(2))
+            .thenAwait(Duration.ofMillis(200))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        assertThat(subscribed).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("jitter는 backoff 이하로만 줄인다")
+    void backoff_jitter() {
+        Backoff backoff = Backoff.builder()
+            .firstBackoff(Duration.ofMillis(100))
+            .maxBackoff(Duration.ofSeconds(1))
+            .jitterFactor(0.5)
+            .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(backoff.delay(2).toMillis()).isBetween(200L, 400L);
+            assertThat(backoff.delay(100).toMillis()).isBetween(500L, 1000L);
+        }
+    }
+
+    @Test
+    @DisplayName("예산을 다 쓰면 재시도하지 않음")
+    void retry_budget() {
+        RetryBudget budget = new RetryBudget(0.5, 1, 2);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryAcquire()).isFalse();
+        budget.deposit();
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.wedul.reactivetest.profiler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PipelineProfilerTest {
+
+    @Test
+    @DisplayName("stage 별 신호 수, 요청, 쓰레드 기록")
+    void profile_stages() {
+        PipelineProfiler profiler = new PipelineProfiler(true, 10);
+
+        Flux<Integer> flux = Flux.range(0, 100)
+            .transform(profiler.stage("source"))
+            .publishOn(Schedulers.single(), 16)
+            .map(i -> i * 2)
+            .transform(profiler.stage("after-publishOn"));
+
+        StepVerifier.create(flux)
+            .expectNextCount(100)
+            .verifyComplete();
+
+        StageReport source = profiler.report().get("source");
+        assertThat(source.getOnNext()).isEqualTo(100);
+        assertThat(source.getOnComplete()).isEqualTo(1);
+        // publishOn 의 prefetch 만큼 나눠서 요청
+        assertThat(source.getUnboundedRequests()).isZero();
+        assertThat(source.getRequested()).isGreaterThanOrEqualTo(100);
+        assertThat(source.getSampledOnNext()).isEqualTo(10);
+
+        StageReport afterPublishOn = profiler.report().get("after-publishOn");
+        assertThat(afterPublishOn.getUnboundedRequests()).isEqualTo(1);
+        assertThat(afterPublishOn.getThreads()).allMatch(thread -> thread.startsWith("single")).isNotEmpty();
+        assertThat(afterPublishOn.getSubscribeThreads()).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("비활성화하면 연산자를 추가하지 않음")
+    void disabled() {
+        PipelineProfiler profiler = new PipelineProfiler(false, 1);
+        Flux<Integer> flux = Flux.range(0, 10);
+
+        assertThat(flux.transform(profiler.stage("source"))).isSameAs(flux);
+        assertThat(profiler.report()).isEmpty();
+    }
+}
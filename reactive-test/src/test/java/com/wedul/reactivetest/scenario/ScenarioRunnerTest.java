@@ -0,0 +1,71 @@
+package com.wedul.reactivetest.scenario;
+
+import com.wedul.reactivetest.ReactiveTest;
+import com.wedul.reactivetest.profiler.PipelineProfiler;
+import com.wedul.reactivetest.profiler.StageReport;
+import com.wedul.reactivetest.scheduler.SchedulerProperties;
+import com.wedul.reactivetest.scheduler.SchedulerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScenarioRunnerTest {
+
+    final SchedulerRegistry schedulerRegistry = new SchedulerRegistry(new SchedulerProperties(), new SimpleMeterRegistry());
+    // application.properties 와 같은 sample-rate
+    final PipelineProfiler pipelineProfiler = new PipelineProfiler(true, 100);
+    final ScenarioRunner scenarioRunner = new ScenarioRunner(new ReactiveTest(schedulerRegistry, pipelineProfiler), schedulerRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        schedulerRegistry.destroy();
+    }
+
+    @Test
+    @DisplayName("시나리오 실행 시 element 개수와 쓰레드를 기록")
+    void run_scenario() {
+        StepVerifier.create(scenarioRunner.run("publishOn"))
+            .assertNext(report -> {
+                assertThat(report.getElementCount()).isEqualTo(4);
+                assertThat(report.getError()).isNull();
+                assertThat(report.getThreads()).anyMatch(thread -> thread.startsWith("publish-"));
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("요소가 sample-rate 보다 적어도 stage 별 쓰레드를 기록")
+    void profile_subscribe_on() {
+        StepVerifier.create(scenarioRunner.run("subscribeOn"))
+            .assertNext(report -> assertThat(report.getElementCount()).isEqualTo(4))
+            .verifyComplete();
+
+        StageReport source = pipelineProfiler.report().get("subscribeOn.source");
+        assertThat(source.getSampledOnNext()).isZero();
+        assertThat(source.getThreads()).allMatch(thread -> thread.startsWith("subscribe-")).isNotEmpty();
+        assertThat(source.getSubscribeThreads()).allMatch(thread -> thread.startsWith("subscribe-")).isNotEmpty();
+        assertThat(pipelineProfiler.report().get("subscribeOn.map").getRequestThreads()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("시나리오에서 발생한 에러는 리포트에 담긴다")
+    void run_error_scenario() {
+        StepVerifier.create(scenarioRunner.run("makeError"))
+            .assertNext(report -> {
+                assertThat(report.getElementCount()).isEqualTo(2);
+                assertThat(report.getError()).contains("에러가 발생했다.");
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("없는 시나리오")
+    void run_unknown_scenario() {
+        StepVerifier.create(scenarioRunner.run("unknown"))
+            .verifyError(IllegalArgumentException.class);
+    }
+}
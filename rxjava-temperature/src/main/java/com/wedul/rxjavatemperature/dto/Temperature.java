@@ -1,11 +0,0 @@
-package com.wedul.rxjavatemperature.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
-@Getter
-@AllArgsConstructor
-public class Temperature {
-
-	private double temperature;
-}
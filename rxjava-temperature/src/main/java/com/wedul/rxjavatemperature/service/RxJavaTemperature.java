@@ -5,7 +5,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Service;
 
-import com.wedul.rxjavatemperature.dto.Temperature;
+import com.wedul.core.dto.Temperature;
 import rx.Observable;
 
 /**
@@ -19,6 +19,8 @@ import rx.Observable;
 @Service
 public class RxJavaTemperature {
 
+	static final int SENSOR_ID = 2;
+
 	private final Random rnd = new Random();
 
 	/**
@@ -37,7 +39,7 @@ public class RxJavaTemperature {
 			.refCount(); // 구독자가 있을 때만 진행
 
 	private Temperature probe() {
-		return new Temperature(16 + rnd.nextGaussian() * 10);
+		return new Temperature(16 + rnd.nextGaussian() * 10, System.currentTimeMillis(), SENSOR_ID);
 	}
 
 	public Observable<Temperature> temperatureStream() {
@@ -1,8 +1,10 @@
 package com.wedul.rxjavatemperature.service;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.wedul.rxjavatemperature.dto.Temperature;
+import com.wedul.core.codec.TemperatureJsonWriter;
+import com.wedul.core.dto.Temperature;
 import rx.Subscriber;
 
 /**
@@ -35,7 +37,7 @@ public class RxSseEmitter extends SseEmitter {
 			@Override
 			public void onNext(Temperature temperature) {
 				try {
-					RxSseEmitter.this.send(temperature);
+					RxSseEmitter.this.send(TemperatureJsonWriter.toJson(temperature), MediaType.APPLICATION_JSON);
 				} catch (Exception e) {
 					unsubscribe();
 				}
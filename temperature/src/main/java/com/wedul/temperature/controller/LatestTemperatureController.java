@@ -0,0 +1,78 @@
+package com.wedul.temperature.controller;
+
+import java.util.function.Consumer;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.wedul.temperature.service.LatestTemperature;
+import com.wedul.temperature.service.LatestTemperature.Snapshot;
+
+/**
+ * 현재 온도만 필요한 클라이언트를 위해 SSE 연결 없이 최신 값을 조회한다.
+ *
+ * ETag 를 If-None-Match 로 보내면 값이 바뀌지 않았을 때 본문 없이 304 를 반환한다.
+ * If-None-Match 는 약한 ETag(W/), 목록, * 를 모두 허용한다.
+ * long-poll 은 DeferredResult 로 요청을 비동기로 전환하므로 기다리는 동안 요청 쓰레드를 점유하지 않는다.
+ */
+@RestController
+public class LatestTemperatureController {
+
+	static final long MAX_POLL_TIMEOUT_MILLIS = 60_000L;
+
+	private final LatestTemperature latestTemperature;
+
+	public LatestTemperatureController(LatestTemperature latestTemperature) {
+		this.latestTemperature = latestTemperature;
+	}
+
+	/**
+	 * 미리 변환해둔 최신 값, 아직 측정값이 없으면 204
+	 */
+	@GetMapping("/temperature/latest")
+	public ResponseEntity<byte[]> latest(ServletWebRequest request) {
+		Snapshot snapshot = latestTemperature.current();
+		if (snapshot == null) {
+			return ResponseEntity.noContent().build();
+		}
+		if (request.checkNotModified(snapshot.getEtag())) {
+			// checkNotModified 가 304 상태와 ETag 헤더를 설정했으므로 본문 없이 끝낸다.
+			request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+			return null;
+		}
+		return toResponse(snapshot);
+	}
+
+	/**
+	 * 클라이언트가 가진 값(If-None-Match)보다 새로운 값이 있으면 바로 반환하고
+	 * 없으면 다음 측정값이 들어올 때까지(최대 timeout ms) 기다린다. 타임아웃이면 304.
+	 */
+	@GetMapping("/temperature/latest/poll")
+	public DeferredResult<ResponseEntity<byte[]>> poll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+		@RequestParam(defaultValue = "30000") long timeout) {
+		DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>(Math.min(Math.max(timeout, 1), MAX_POLL_TIMEOUT_MILLIS),
+			() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build());
+
+		Consumer<Snapshot> waiter = snapshot -> result.setResult(toResponse(snapshot));
+		result.onCompletion(() -> latestTemperature.cancel(waiter));
+		latestTemperature.awaitNewerThan(ifNoneMatch, waiter);
+		return result;
+	}
+
+	private ResponseEntity<byte[]> toResponse(Snapshot snapshot) {
+		return ResponseEntity.ok()
+			.eTag(snapshot.getEtag())
+			.cacheControl(CacheControl.noCache())
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(snapshot.getJson());
+	}
+}
@@ -13,7 +13,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.wedul.temperature.dto.Temperature;
+import com.wedul.core.codec.TemperatureJsonWriter;
+import com.wedul.core.dto.Temperature;
 
 /*
  이 방식의 문제점은 발행-구독 구조로 되어있기 때문에 고부하 및 고성능에 적합하지 않고 별도의 에러처리등등도 어려우며
@@ -44,10 +45,13 @@ public class TemperatureController {
 	public void handleMessage(Temperature temperature) {
 		// request가 전달될 때 sseEmiter를 추가하고 terperatureSensor service에서 돌고 있는 service executor를 통해 데이터를 비동기로 클라이언트에게 전달
 
+		// 클라이언트마다 Jackson 으로 변환하지 않고 한 번만 JSON 으로 만들어서 전달
+		String json = TemperatureJsonWriter.toJson(temperature);
+
 		List<SseEmitter> deadEmitters = new ArrayList<>();
 		clients.forEach(sseEmitter -> {
 			try {
-				sseEmitter.send(temperature, MediaType.APPLICATION_JSON);
+				sseEmitter.send(json, MediaType.APPLICATION_JSON);
 			} catch (Exception e) {
 				deadEmitters.add(sseEmitter);
 			}
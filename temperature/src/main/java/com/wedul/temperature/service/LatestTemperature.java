@@ -0,0 +1,105 @@
+package com.wedul.temperature.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.wedul.core.codec.TemperatureJsonWriter;
+import com.wedul.core.dto.Temperature;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 가장 최근 온도를 JSON 으로 미리 변환해서 보관한다.
+ *
+ * 측정값이 들어올 때 한 번만 변환하고 AtomicReference 로 통째로 교체하므로 조회는 락 없이 참조 하나만 읽는다.
+ * 다음 측정값을 기다리는 long-poll 요청은 콜백으로 등록해두고 새 값이 들어오면 한꺼번에 깨운다.
+ *
+ * version 은 프로세스가 재시작되면 1부터 다시 시작하므로 ETag 에는 측정 시각도 넣어
+ * 재시작 전에 받은 ETag 가 재시작 후의 다른 값과 일치하지 않도록 한다.
+ */
+@Component
+public class LatestTemperature {
+
+	private final AtomicReference<Snapshot> latest = new AtomicReference<>();
+	private final Set<Consumer<Snapshot>> waiters = ConcurrentHashMap.newKeySet();
+
+	@EventListener
+	public void update(Temperature temperature) {
+		Snapshot previous = latest.get();
+		long version = previous == null ? 1 : previous.getVersion() + 1;
+		byte[] json = TemperatureJsonWriter.toJson(temperature).getBytes(StandardCharsets.UTF_8);
+		Snapshot snapshot = new Snapshot(version, etag(temperature, version), json);
+		latest.set(snapshot);
+
+		for (Consumer<Snapshot> waiter : waiters) {
+			if (waiters.remove(waiter)) {
+				waiter.accept(snapshot);
+			}
+		}
+	}
+
+	private static String etag(Temperature temperature, long version) {
+		return "\"" + temperature.getSensorId() + "-" + temperature.getTimestamp() + "-" + version + "\"";
+	}
+
+	/**
+	 * 아직 측정값이 없으면 null
+	 */
+	public Snapshot current() {
+		return latest.get();
+	}
+
+	/**
+	 * If-None-Match 와 일치하지 않는(더 새로운) 값이 있으면 바로, 아니면 다음 측정값이 들어올 때 waiter 를 한 번 호출한다.
+	 * 타임아웃 등으로 더 기다리지 않으면 cancel 로 등록을 취소한다.
+	 */
+	public void awaitNewerThan(String ifNoneMatch, Consumer<Snapshot> waiter) {
+		waiters.add(waiter);
+
+		// 등록하는 사이에 값이 바뀌었을 수 있으므로 등록 후 다시 확인
+		Snapshot snapshot = latest.get();
+		if (snapshot != null && !snapshot.matches(ifNoneMatch) && waiters.remove(waiter)) {
+			waiter.accept(snapshot);
+		}
+	}
+
+	public void cancel(Consumer<Snapshot> waiter) {
+		waiters.remove(waiter);
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class Snapshot {
+		private final long version;
+		private final String etag;
+		// 미리 변환한 JSON (UTF-8)
+		private final byte[] json;
+
+		/**
+		 * If-None-Match 헤더와 비교한다. (ServletWebRequest#checkNotModified 와 같이 약한 비교, 목록, * 허용)
+		 */
+		public boolean matches(String ifNoneMatch) {
+			if (ifNoneMatch == null) {
+				return false;
+			}
+			for (String candidate : ifNoneMatch.split(",")) {
+				String tag = candidate.trim();
+				if ("*".equals(tag) || stripWeak(tag).equals(etag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static String stripWeak(String tag) {
+			return tag.startsWith("W/") ? tag.substring(2) : tag;
+		}
+	}
+}
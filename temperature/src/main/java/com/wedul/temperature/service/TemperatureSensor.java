@@ -11,7 +11,7 @@ import javax.annotation.PostConstruct;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import com.wedul.temperature.dto.Temperature;
+import com.wedul.core.dto.Temperature;
 
 /**
  *
@@ -24,6 +24,8 @@ import com.wedul.temperature.dto.Temperature;
 @Service
 public class TemperatureSensor {
 
+	static final int SENSOR_ID = 1;
+
 	private final ApplicationEventPublisher publisher;
 	private final Random random = new Random();
 	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
@@ -39,7 +41,7 @@ public class TemperatureSensor {
 
 	private void probe() {
 		double temperature = 16 + random.nextGaussian() * 10;
-		publisher.publishEvent(new Temperature(temperature));
+		publisher.publishEvent(new Temperature(temperature, System.currentTimeMillis(), SENSOR_ID));
 
 		executor.schedule(this::probe, random.nextInt(5000), MILLISECONDS);
 	}
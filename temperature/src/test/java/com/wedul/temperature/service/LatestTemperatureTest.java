@@ -0,0 +1,86 @@
+package com.wedul.temperature.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.wedul.core.dto.Temperature;
+import com.wedul.temperature.service.LatestTemperature.Snapshot;
+
+class LatestTemperatureTest {
+
+	final LatestTemperature latestTemperature = new LatestTemperature();
+
+	@Test
+	@DisplayName("새 측정값이 들어오면 미리 변환한 JSON 과 ETag 를 교체")
+	void update_snapshot() {
+		assertThat(latestTemperature.current()).isNull();
+
+		latestTemperature.update(new Temperature(16.5, 1L, 1));
+		Snapshot first = latestTemperature.current();
+		latestTemperature.update(new Temperature(17.5, 2L, 1));
+		Snapshot second = latestTemperature.current();
+
+		assertThat(new String(second.getJson(), StandardCharsets.UTF_8)).isEqualTo("{\"temperature\":17.5,\"timestamp\":2,\"sensorId\":1}");
+		assertThat(second.getEtag()).isNotEqualTo(first.getEtag());
+	}
+
+	@Test
+	@DisplayName("같은 ETag 를 가진 long-poll 은 다음 측정값까지 기다린다")
+	void await_next_reading() {
+		List<Snapshot> received = new ArrayList<>();
+		latestTemperature.update(new Temperature(16.5, 1L, 1));
+		String etag = latestTemperature.current().getEtag();
+
+		latestTemperature.awaitNewerThan(etag, received::add);
+		assertThat(received).isEmpty();
+
+		latestTemperature.update(new Temperature(17.5, 2L, 1));
+		latestTemperature.update(new Temperature(18.5, 3L, 1));
+		assertThat(received).hasSize(1);
+		assertThat(received.get(0).getVersion()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("이전 ETag 로 기다리면 바로 최신 값을 받는다")
+	void await_with_stale_etag() {
+		List<Snapshot> received = new ArrayList<>();
+		latestTemperature.update(new Temperature(16.5, 1L, 1));
+		String staleEtag = latestTemperature.current().getEtag();
+		latestTemperature.update(new Temperature(17.5, 2L, 1));
+
+		latestTemperature.awaitNewerThan(staleEtag, received::add);
+		assertThat(received).hasSize(1);
+	}
+
+	@Test
+	@DisplayName("재시작해서 version 이 같아져도 다른 측정값이면 ETag 가 다르다")
+	void etag_survives_restart() {
+		latestTemperature.update(new Temperature(16.5, 1L, 1));
+		LatestTemperature restarted = new LatestTemperature();
+		restarted.update(new Temperature(20.5, 5L, 1));
+
+		assertThat(restarted.current().getVersion()).isEqualTo(latestTemperature.current().getVersion());
+		assertThat(restarted.current().matches(latestTemperature.current().getEtag())).isFalse();
+	}
+
+	@Test
+	@DisplayName("If-None-Match 는 약한 ETag, 목록, * 를 허용")
+	void match_if_none_match() {
+		latestTemperature.update(new Temperature(16.5, 1L, 1));
+		Snapshot snapshot = latestTemperature.current();
+		String etag = snapshot.getEtag();
+
+		assertThat(snapshot.matches(etag)).isTrue();
+		assertThat(snapshot.matches("W/" + etag)).isTrue();
+		assertThat(snapshot.matches("\"other\", " + etag)).isTrue();
+		assertThat(snapshot.matches("*")).isTrue();
+		assertThat(snapshot.matches("\"other\"")).isFalse();
+		assertThat(snapshot.matches(null)).isFalse();
+	}
+}